@@ -0,0 +1,70 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.entity.AuditStampListener;
+import com.study.datajpa.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 엔티티 리스너의 감사 필드 세팅 비용 (DB 없이 리스너만 측정)
+ * - SPRING : AuditingHandler (애노테이션 필드를 리플렉션으로 세팅, 엔티티마다 LocalDateTime.now() + 작성자 조회)
+ * - FAST : 필드 직접 세팅 + 밀리초 캐시 시계 + 트랜잭션마다 한번 작성자 조회
+ *
+ * 한 트랜잭션에서 entitiesPerTransaction 건을 등록하는 상황 (트랜잭션 동기화만 켜고 끔)
+ * 할당량 비교는 -prof gc 의 gc.alloc.rate.norm (entitiesPerTransaction 으로 나눠서 건당)
+ *
+ * 실행 예) java -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar AuditListenerBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+public class AuditListenerBenchmark {
+
+    @Param({"SPRING", "FAST"})
+    public String mode;
+
+    @Param({"100"})
+    public int entitiesPerTransaction;
+
+    private ConfigurableApplicationContext context;
+    private AuditStampListener listener;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("datajpa.audit.mode=" + mode);
+        AuditContext auditContext = context.getBean(AuditContext.class);
+        listener = new AuditStampListener(() -> auditContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object persistInTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            List<Member> members = new ArrayList<>(entitiesPerTransaction);
+            for (int i = 0; i < entitiesPerTransaction; i++) {
+                Member member = new Member("member" + i, i);
+                listener.touchForCreate(member);
+                members.add(member);
+            }
+            return members;
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clear();
+        }
+    }
+}
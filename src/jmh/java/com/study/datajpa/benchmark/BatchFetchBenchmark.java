@@ -0,0 +1,108 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.TeamRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * hibernate.default_batch_fetch_size 에 따른 지연 로딩 쿼리 수 (페이지 크기별)
+ * - memberPage_touchTeam : 회원 pageSize 명 조회 후 member.getTeam().getName() (페이지 안의 team 은 모두 다름)
+ * - teamPage_touchMembers : 팀 pageSize 개 조회 후 team.getMembers().size()
+ * - batchSize=1 은 batch fetch 끔 (1 + pageSize 번), 나머지는 1 + ceil(pageSize / batchSize) 번 (teamPage 는 count 쿼리 1번 추가)
+ * - 2차 캐시에서 team 을 꺼내면 SQL 이 안 나가므로 2차 캐시는 끄고 측정
+ * - 1번 실행당 SQL 수 = 결과의 statements / invocations
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=BatchFetchBenchmark
+ */
+@State(Scope.Benchmark)
+public class BatchFetchBenchmark {
+
+    @Param({"1", "16", "100"})
+    public int batchSize;
+
+    @Param({"20", "100", "500"})
+    public int pageSize;
+
+    private static final int MEMBER_COUNT = 20_000;
+    private static final int TEAM_COUNT = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TeamRepository teamRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StatementCount {
+        public long statements;
+        public long invocations;
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.default_batch_fetch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        BenchmarkDataSeeder.seed(context, MEMBER_COUNT, TEAM_COUNT);
+        memberRepository = context.getBean(MemberRepository.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int memberPage_touchTeam(StatementCount count) {
+        return counted(count, () -> {
+            List<Member> members = memberRepository.findListBy(randomPage(MEMBER_COUNT));
+            return members.stream()
+                    .filter(member -> member.getTeam() != null) // MemberController.init() 으로 들어간 회원은 team 없음
+                    .mapToInt(member -> member.getTeam().getName().length())
+                    .sum();
+        });
+    }
+
+    @Benchmark
+    public int teamPage_touchMembers(StatementCount count) {
+        return counted(count, () -> {
+            List<Team> teams = teamRepository.findAll(randomPage(TEAM_COUNT)).getContent();
+            return teams.stream().mapToInt(team -> team.getMembers().size()).sum();
+        });
+    }
+
+    private int counted(StatementCount count, Supplier<Integer> work) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            int result = readOnlyTx.execute(status -> work.get());
+            count.statements += scope.getStats().getTotal();
+            count.invocations++;
+            return result;
+        }
+    }
+
+    private PageRequest randomPage(int total) {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(total / pageSize), pageSize, Sort.by("id"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.DataJpaApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * - yml의 tcp H2 대신 벤치마크마다 새로운 in-memory H2 사용
+ *   (네트워크 왕복까지 포함해서 측정하려면 -Dbenchmark.jdbc-url=jdbc:h2:tcp://localhost/~/bench 처럼 지정)
+ * - SQL 로그, p6spy 는 측정값을 왜곡하므로 끔
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(WebApplicationType.NONE, extraProperties);
+    }
+
+    // 웹 서버까지 띄워서 측정할 때 (SERVLET 이면 server.port=0 으로 빈 포트 사용)
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraProperties) {
+        List<String> properties = new ArrayList<>(Arrays.asList(
+                "spring.datasource.url=" + System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"),
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "logging.level.org.hibernate.SQL=warn",
+                "decorator.datasource.enabled=false",
+                "server.port=0"
+        ));
+        properties.addAll(Arrays.asList(extraProperties));
+
+        // application.yml 보다 우선하도록 커맨드라인 인자(--key=value)로 넘김
+        String[] args = properties.stream()
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+}
@@ -0,0 +1,77 @@
+package com.study.datajpa.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 데이터 적재
+ * (JPA save()로 100만건 넣으면 측정보다 적재가 더 오래 걸리므로 JDBC batch insert 사용)
+ *
+ * - member: username = "member" + i, age = 10 ~ 59, team = i % teamCount
+ * - team: name = "team" + i
+ * - version(@Version) 은 0 (null 이면 스프링 데이터 JPA 가 새 엔티티로 판단)
+ */
+public final class BenchmarkDataSeeder {
+
+    public static final int MIN_AGE = 10;
+    public static final int AGE_RANGE = 50;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MEMBER_SEQ_ALLOCATION_SIZE = 50;
+
+    private BenchmarkDataSeeder() {
+    }
+
+    public static void seed(ApplicationContext context, int memberCount, int teamCount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // @PostConstruct 등으로 이미 들어간 데이터와 id가 겹치지 않도록 시퀀스 다음 값부터 사용
+        long teamBaseId = jdbcTemplate.queryForObject("select next value for hibernate_sequence", Long.class);
+        long memberBaseId = jdbcTemplate.queryForObject("select next value for member_seq", Long.class);
+
+        List<Object[]> teams = new ArrayList<>(Math.min(teamCount, BATCH_SIZE));
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new Object[]{teamBaseId + i, "team" + i, 0L, now, now});
+            if (teams.size() == BATCH_SIZE) {
+                insertTeams(jdbcTemplate, teams);
+            }
+        }
+        insertTeams(jdbcTemplate, teams);
+
+        List<Object[]> members = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < memberCount; i++) {
+            Long teamId = teamCount == 0 ? null : teamBaseId + (i % teamCount);
+            members.add(new Object[]{memberBaseId + i, "member" + i, MIN_AGE + (i % AGE_RANGE), 0L, teamId, now, now});
+            if (members.size() == BATCH_SIZE) {
+                insertMembers(jdbcTemplate, members);
+            }
+        }
+        insertMembers(jdbcTemplate, members);
+
+        jdbcTemplate.execute("alter sequence hibernate_sequence restart with " + (teamBaseId + teamCount));
+        // member_seq 는 allocationSize(50) 단위로 미리 가져가므로 그만큼 띄워서 재시작
+        jdbcTemplate.execute("alter sequence member_seq restart with " + (memberBaseId + memberCount + MEMBER_SEQ_ALLOCATION_SIZE));
+    }
+
+    private static void insertTeams(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name, version, created_date, last_modified_date) values (?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static void insertMembers(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into member (member_id, username, age, version, team_id, created_date, last_modified_date) values (?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
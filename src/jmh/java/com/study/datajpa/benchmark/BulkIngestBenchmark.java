@@ -0,0 +1,60 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.service.MemberBulkIngestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * MemberController.init() 처럼 save()를 한건씩 호출 vs MemberBulkIngestService (단위: rows/sec)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkIngestBenchmark {
+
+    private static final int ROWS = 5000;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberBulkIngestService memberBulkIngestService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        memberBulkIngestService = context.getBean(MemberBulkIngestService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void saveLoop() {
+        for (int i = 0; i < ROWS; i++) {
+            memberRepository.save(new Member("user" + i, 10 + i % 50));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bulkIngest() {
+        return memberBulkIngestService.ingest(IntStream.range(0, ROWS)
+                .mapToObj(i -> new Member("user" + i, 10 + i % 50)));
+    }
+}
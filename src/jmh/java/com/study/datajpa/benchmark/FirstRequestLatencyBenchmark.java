@@ -0,0 +1,71 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배포 직후 첫 요청 지연시간 : 시작할 때 워밍업(QueryWarmup) 여부에 따라 비교
+ * - JIT 도 첫 실행 상태여야 하므로 JVM(fork) 마다 컨텍스트를 띄우고 한번만 측정 (반복은 fork 수로)
+ * - 측정 : 대표 조회 3개(username 조회, 페이징 + count, DTO join 페이징)를 처음 실행하는 시간
+ *
+ * 실행 예) java -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar FirstRequestLatencyBenchmark -f 10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class FirstRequestLatencyBenchmark {
+
+    private static final int MEMBER_COUNT = 10_000;
+
+    @Param({"true", "false"})
+    public boolean warmup;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("datajpa.warmup.enabled=" + warmup);
+        BenchmarkDataSeeder.seed(context, MEMBER_COUNT, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object firstRequests() {
+        return readOnlyTx.execute(status -> List.of(
+                memberRepository.findListByUsername("member1"),
+                memberRepository.findPageByAge(BenchmarkDataSeeder.MIN_AGE, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "username"))),
+                memberRepository.findMemberDtoPage(PageRequest.of(0, 20))
+        ));
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.service.MemberNameQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 긴 이름 목록으로 findByNames (in :names)
+ * - single  : 목록 전체를 in 절 하나로
+ * - chunked : MemberNameQueryService (chunk-size 씩 나눠서 repositoryTaskExecutor 에서 병렬)
+ * - 목록 길이는 매번 listSize/2 ~ listSize 사이 랜덤 (padding=false 면 길이마다 다른 SQL / 쿼리 플랜)
+ * - username 인덱스(Member 의 idx_member_username)가 없으면 전체 row 를 목록과 하나씩 비교하는 비용이 측정을 지배함
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=InListBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InListBenchmark {
+
+    private static final int MEMBER_COUNT = 100_000;
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int listSize;
+
+    @Param({"true", "false"})
+    public boolean padding;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberNameQueryService memberNameQueryService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.query.in_clause_parameter_padding=" + padding);
+        BenchmarkDataSeeder.seed(context, MEMBER_COUNT, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberNameQueryService = context.getBean(MemberNameQueryService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object single() {
+        return memberRepository.findByNames(randomNames());
+    }
+
+    @Benchmark
+    public Object chunked() {
+        return memberNameQueryService.findByNames(randomNames());
+    }
+
+    private List<String> randomNames() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = listSize / 2 + random.nextInt(listSize / 2 + 1);
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add("member" + random.nextInt(MEMBER_COUNT));
+        }
+        return names;
+    }
+}
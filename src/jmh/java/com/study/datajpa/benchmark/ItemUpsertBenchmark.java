@@ -0,0 +1,122 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Item;
+import com.study.datajpa.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Item(id 직접 할당) batchSize 건 저장
+ * - newOnly : 모두 새 id      -> saveAll (건마다 persist) vs upsertAll
+ * - mixed   : 절반은 있는 id  -> findAllById 후 수정 + saveAll (JPA 방식, select 1번 + dirty checking) vs upsertAll
+ * 모두 트랜잭션 하나에서 실행, 결과의 ms/op 는 batchSize 건 처리 시간
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=ItemUpsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemUpsertBenchmark {
+
+    private static final int EXISTING_COUNT = 100_000;
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private TransactionTemplate tx;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<Item> existing = new ArrayList<>(EXISTING_COUNT);
+        for (int i = 0; i < EXISTING_COUNT; i++) {
+            existing.add(new Item("item-" + i, "name" + i));
+        }
+        itemRepository.upsertAll(existing);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object newOnly_saveAll() {
+        return tx.execute(status -> itemRepository.saveAll(newItems(batchSize)));
+    }
+
+    @Benchmark
+    public Object newOnly_upsertAll() {
+        return tx.execute(status -> itemRepository.upsertAll(newItems(batchSize)));
+    }
+
+    @Benchmark
+    public Object mixed_findAllByIdThenSaveAll() {
+        List<Item> items = mixedItems();
+        return tx.execute(status -> {
+            Map<String, Item> found = itemRepository.findAllById(items.stream().map(Item::getId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            List<Item> created = new ArrayList<>();
+            for (Item item : items) {
+                Item managed = found.get(item.getId());
+                if (managed == null) {
+                    created.add(item);
+                } else {
+                    managed.changeName(item.getName()); // 커밋시 dirty checking 으로 update
+                }
+            }
+            return itemRepository.saveAll(created);
+        });
+    }
+
+    @Benchmark
+    public Object mixed_upsertAll() {
+        List<Item> items = mixedItems();
+        return tx.execute(status -> itemRepository.upsertAll(items));
+    }
+
+    private List<Item> newItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("new-" + sequence.incrementAndGet(), "new"));
+        }
+        return items;
+    }
+
+    // 절반은 기존 id (중복 없이 연속 구간), 절반은 새 id
+    private List<Item> mixedItems() {
+        int existing = batchSize / 2;
+        int from = ThreadLocalRandom.current().nextInt(EXISTING_COUNT - existing);
+        List<Item> items = new ArrayList<>(batchSize);
+        for (int i = 0; i < existing; i++) {
+            items.add(new Item("item-" + (from + i), "changed" + sequence.get()));
+        }
+        items.addAll(newItems(batchSize - existing));
+        return items;
+    }
+}
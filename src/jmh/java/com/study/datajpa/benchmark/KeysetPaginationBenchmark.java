@@ -0,0 +1,63 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.keyset.KeysetCursor;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * offset 페이징(findAll(pageable)) vs keyset 페이징
+ * page 가 커질수록 offset 방식은 느려지고 keyset 방식은 일정해야 함
+ */
+@State(Scope.Benchmark)
+public class KeysetPaginationBenchmark {
+
+    @Param({"300000"})
+    public int memberCount;
+
+    @Param({"1", "100", "1000", "10000"})
+    public int page;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private String token; // page 번째 페이지를 가리키는 토큰
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        List<Member> previousPage = memberRepository.findAll(PageRequest.of(page - 1, pageSize, Sort.by("id"))).getContent();
+        token = KeysetCursor.of(MemberKeysetSort.ID, previousPage.get(previousPage.size() - 1)).encode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offset_findAllPageable() {
+        return memberRepository.findAll(PageRequest.of(page, pageSize, Sort.by("id")));
+    }
+
+    @Benchmark
+    public Object keyset_findMemberKeyset() {
+        return memberRepository.findMemberKeyset(MemberKeysetSort.ID, token, pageSize);
+    }
+}
@@ -0,0 +1,75 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.service.MemberUpdateService;
+import com.study.datajpa.transaction.UpdateLockMode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 8 스레드가 hotMembers 명의 회원 나이를 동시에 수정할 때 비관적 / 낙관적 락 비교
+ * - sample 모드로 처리량과 함께 p99 등 꼬리 지연시간 확인
+ * - 낙관적 락에서 재시도 횟수를 넘겨 실패한 수정 수는 retryExhausted 카운터로 결과에 같이 출력
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=LockContentionBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LockContentionBenchmark {
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public UpdateLockMode lockMode;
+
+    @Param({"1", "16"})
+    public int hotMembers;
+
+    private ConfigurableApplicationContext context;
+    private MemberUpdateService memberUpdateService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, 1000, 10);
+        memberUpdateService = context.getBean(MemberUpdateService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int increaseAge(Failures failures) {
+        try {
+            return memberUpdateService.increaseAge("member" + ThreadLocalRandom.current().nextInt(hotMembers), lockMode);
+        } catch (OptimisticLockingFailureException e) {
+            failures.retryExhausted++;
+            return 0;
+        }
+    }
+
+    /**
+     * 스레드별 실패 수 (JMH 가 iteration 마다 모든 스레드의 값을 합쳐서 결과에 출력)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+
+        public long retryExhausted;
+    }
+}
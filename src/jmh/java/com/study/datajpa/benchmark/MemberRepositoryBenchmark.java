@@ -0,0 +1,136 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.projections.NestedClosedProjections;
+import com.study.datajpa.repository.projections.UsernameOnly;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * MemberRepository 조회 방식별 비교
+ * - Page(count 쿼리 O) vs Slice vs List
+ * - count 쿼리 join O (findMemberByAge) vs join X (findMemberFasterByAge)
+ * - @EntityGraph 3가지 방식 (findAll, findMemberEntityGraph 는 전체 조회이므로 큰 데이터셋에서는 느림)
+ * - DTO 조회, 인터페이스 / 클래스 기반 Projection
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=MemberRepositoryBenchmark
+ *         java -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar MemberRepositoryBenchmark -p memberCount=10000 -p teamCount=10
+ */
+@State(Scope.Benchmark)
+public class MemberRepositoryBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int memberCount;
+
+    @Param({"100"})
+    public int teamCount;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, teamCount);
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findPageByAge() {
+        return inReadOnlyTx(() -> memberRepository.findPageByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object findSliceByAge() {
+        return inReadOnlyTx(() -> memberRepository.findSliceByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object findListByAge() {
+        return inReadOnlyTx(() -> memberRepository.findListByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object findMemberByAge_countWithJoin() {
+        return inReadOnlyTx(() -> memberRepository.findMemberByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object findMemberFasterByAge_countWithoutJoin() {
+        return inReadOnlyTx(() -> memberRepository.findMemberFasterByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object entityGraph_findAll() {
+        return inReadOnlyTx(() -> memberRepository.findAll());
+    }
+
+    @Benchmark
+    public Object entityGraph_findMemberEntityGraph() {
+        return inReadOnlyTx(() -> memberRepository.findMemberEntityGraph());
+    }
+
+    @Benchmark
+    public Object entityGraph_findEntityGraphByUsername() {
+        return inReadOnlyTx(() -> memberRepository.findEntityGraphByUsername(randomUsername()));
+    }
+
+    @Benchmark
+    public Object findMemberDto() {
+        return inReadOnlyTx(() -> memberRepository.findMemberDto());
+    }
+
+    @Benchmark
+    public Object projection_interfaceBased() {
+        return inReadOnlyTx(() -> memberRepository.findProjectionsByUsername(randomUsername(), UsernameOnly.class));
+    }
+
+    @Benchmark
+    public Object projection_interfaceBasedNested() {
+        return inReadOnlyTx(() -> memberRepository.findProjectionsByUsername(randomUsername(), NestedClosedProjections.class));
+    }
+
+    @Benchmark
+    public Object projection_classBased() {
+        return inReadOnlyTx(() -> memberRepository.findProjections2ByUsername(randomUsername()));
+    }
+
+    private Object inReadOnlyTx(Supplier<Object> query) {
+        return readOnlyTx.execute(status -> query.get());
+    }
+
+    private PageRequest pageRequest() {
+        return PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "username"));
+    }
+
+    private int randomAge() {
+        return BenchmarkDataSeeder.MIN_AGE + ThreadLocalRandom.current().nextInt(BenchmarkDataSeeder.AGE_RANGE);
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+}
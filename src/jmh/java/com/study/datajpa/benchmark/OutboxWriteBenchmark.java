@@ -0,0 +1,95 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox 기록이 쓰기 트랜잭션에 더하는 비용
+ * - insertMembers : batchSize 건 등록 (outbox=true 면 INSERT 이벤트 batchSize 건을 커밋 직전에 JDBC batch 로)
+ * - updateMembers : 같은 건들 수정 (UPDATE 이벤트, 바뀐 필드 payload 포함)
+ * - bulkAgePlus   : 벌크 수정 1번 (BULK_UPDATE 이벤트 1건)
+ * 발행기는 측정에서 빼기 위해 주기를 길게 (발행 비용은 쓰기 트랜잭션 밖)
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=OutboxWriteBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OutboxWriteBenchmark {
+
+    @Param({"false", "true"})
+    public boolean outbox;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate tx;
+    private List<Long> memberIds;
+    private int round;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("datajpa.outbox.enabled=" + outbox, "datajpa.outbox.poll-interval=1h",
+                "datajpa.outbox.file-sink.path=build/outbox/benchmark-changes.jsonl"); // sink 는 필수 (발행은 하지 않음)
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        memberIds = tx.execute(status -> {
+            List<Long> ids = new ArrayList<>(batchSize);
+            for (Member member : memberRepository.saveAll(newMembers())) {
+                ids.add(member.getId());
+            }
+            return ids;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object insertMembers() {
+        return tx.execute(status -> memberRepository.saveAll(newMembers()));
+    }
+
+    @Benchmark
+    public Object updateMembers() {
+        String username = "outbox-bench-" + round++;
+        return tx.execute(status -> {
+            List<Member> members = memberRepository.findAllById(memberIds);
+            members.forEach(member -> member.setUsername(username));
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkAgePlus() {
+        return tx.execute(status -> memberRepository.bulkAgePlus(Integer.MAX_VALUE)); // 수정 대상 없음 -> 기록 비용만
+    }
+
+    private List<Member> newMembers() {
+        List<Member> members = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            members.add(new Member("outbox-bench", i));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,92 @@
+package com.study.datajpa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.projections.UsernameOnly;
+import com.study.datajpa.repository.projections.UsernameOnlyDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MemberController 의 엔티티 조회 API vs projection / DTO 조회 API (요청 1번당 할당량 비교)
+ * - findMember (/members/{id})        vs findUsername (/members/{id}/username)
+ * - pageList   (/members) + JSON 직렬화 vs pageDtoList  (/members/dto) + JSON 직렬화
+ * - 웹 계층은 빼고 컨트롤러가 하는 일(repository 호출 + 응답 직렬화)만 측정
+ * - /members 는 team 이 있으면 엔티티 직렬화가 안 되므로 (Team 프록시, 양방향 연관관계) team 없는 데이터로 비교
+ * - findById 는 Member 2차 캐시에서 꺼내므로 캐시 적중 시에는 projection 보다 할당이 적음 (projection 은 캐시를 안 씀)
+ * - in-memory H2 는 같은 JVM 에서 실행되어 DB 쪽 할당(left join + offset 등)까지 섞이므로 tcp H2 로 측정할 것
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=ProjectionAllocationBenchmark
+ *         java -Dbenchmark.jdbc-url=jdbc:h2:tcp://localhost/~/bench -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar ProjectionAllocationBenchmark -prof gc
+ *         (gc.alloc.rate.norm = 요청당 할당 바이트)
+ */
+@State(Scope.Benchmark)
+public class ProjectionAllocationBenchmark {
+
+    @Param({"10000"})
+    public int memberCount;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private ObjectMapper objectMapper;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, 0);
+        memberRepository = context.getBean(MemberRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        firstId = memberRepository.findListByUsername("member0").get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String entity_findById() {
+        return memberRepository.findById(randomId()).get().getUsername();
+    }
+
+    @Benchmark
+    public String projection_classBased() {
+        return memberRepository.findProjectionById(randomId(), UsernameOnlyDto.class).get().getUsername();
+    }
+
+    @Benchmark
+    public String projection_interfaceBased() {
+        return memberRepository.findProjectionById(randomId(), UsernameOnly.class).get().getUsername();
+    }
+
+    @Benchmark
+    public byte[] entity_page() throws Exception {
+        return objectMapper.writeValueAsBytes(memberRepository.findAll(randomPage()));
+    }
+
+    @Benchmark
+    public byte[] dto_page() throws Exception {
+        return objectMapper.writeValueAsBytes(memberRepository.findMemberDtoPage(randomPage()));
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(memberCount / pageSize), pageSize, Sort.by("id"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 읽기 3 : 쓰기 1 스레드 동시 실행시 처리량
+ * - routing=false : 모든 트랜잭션이 primary 하나로
+ * - routing=true  : readOnly 트랜잭션은 replica 로 (ReplicationRoutingDataSource)
+ * replica 는 적재가 끝난 primary 를 SCRIPT / RUNSCRIPT 로 복사한 별도 in-memory H2
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=ReadWriteRoutingBenchmark
+ */
+@State(Scope.Benchmark)
+public class ReadWriteRoutingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean routing;
+
+    @Param({"10000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate tx;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = routing
+                ? BenchmarkContext.start(
+                        "datajpa.datasource.routing.enabled=true",
+                        "datajpa.datasource.routing.replicas[0].url=jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "datajpa.datasource.routing.replicas[0].username=sa")
+                : BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, 100);
+        if (routing) {
+            copyPrimaryToReplica();
+        }
+        memberRepository = context.getBean(MemberRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        tx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    private void copyPrimaryToReplica() throws IOException {
+        File script = File.createTempFile("replica", ".sql");
+        script.deleteOnExit();
+        new JdbcTemplate(context.getBean(DataSource.class)).execute("script to '" + script.getAbsolutePath() + "'");
+        AbstractRoutingDataSource routingDataSource = (AbstractRoutingDataSource)
+                ((LazyConnectionDataSourceProxy) context.getBean(DataSource.class)).getTargetDataSource();
+        new JdbcTemplate(routingDataSource.getResolvedDataSources().get("replica-0"))
+                .execute("runscript from '" + script.getAbsolutePath() + "'");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Object read() {
+        return readOnlyTx.execute(status -> memberRepository.findListByUsername("member" + ThreadLocalRandom.current().nextInt(memberCount)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Object write() {
+        return tx.execute(status -> memberRepository.save(new Member("routing", ThreadLocalRandom.current().nextInt(100))));
+    }
+}
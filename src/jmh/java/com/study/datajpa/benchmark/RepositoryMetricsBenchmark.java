@@ -0,0 +1,54 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * repository 지표 수집(RepositoryMetricsInterceptor) 오버헤드
+ * - findById : 2차 캐시 hit 이라 SQL 이 없으므로 계측 비용이 가장 크게 보이는 경우
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=RepositoryMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+public class RepositoryMetricsBenchmark {
+
+    @Param({"true", "false"})
+    public boolean metricsEnabled;
+
+    private static final int MEMBER_COUNT = 1000;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("datajpa.metrics.enabled=" + metricsEnabled);
+        BenchmarkDataSeeder.seed(context, MEMBER_COUNT, 10);
+        memberRepository = context.getBean(MemberRepository.class);
+        firstId = memberRepository.findListByUsername("member0").get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return memberRepository.findById(firstId + ThreadLocalRandom.current().nextInt(MEMBER_COUNT));
+    }
+
+    @Benchmark
+    public Object findListByUsername() {
+        return memberRepository.findListByUsername("member" + ThreadLocalRandom.current().nextInt(MEMBER_COUNT));
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * id 조회 : 2차 캐시 사용 vs 캐시 우회(CacheRetrieveMode.BYPASS)
+ * /members/{id}, /members2/{id} 요청처럼 매번 새로운 EntityManager(영속성 컨텍스트)로 조회
+ */
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+
+    private static final Map<String, Object> BYPASS_CACHE =
+            Collections.singletonMap("javax.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+
+    @Param({"10000"})
+    public int memberCount;
+
+    @Param({"100"})
+    public int teamCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+    private List<Long> memberIds;
+    private List<Long> teamIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, teamCount);
+        emf = context.getBean(EntityManagerFactory.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        memberIds = jdbcTemplate.queryForList("select member_id from member", Long.class);
+        teamIds = jdbcTemplate.queryForList("select team_id from team", Long.class);
+
+        // 캐시 채워두기
+        memberIds.forEach(id -> find(Member.class, id, Collections.emptyMap()));
+        teamIds.forEach(id -> find(Team.class, id, Collections.emptyMap()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object member_cached() {
+        return find(Member.class, random(memberIds), Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object member_uncached() {
+        return find(Member.class, random(memberIds), BYPASS_CACHE);
+    }
+
+    @Benchmark
+    public Object team_cached() {
+        return find(Team.class, random(teamIds), Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object team_uncached() {
+        return find(Team.class, random(teamIds), BYPASS_CACHE);
+    }
+
+    private <T> T find(Class<T> type, Long id, Map<String, Object> properties) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.find(type, id, properties);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static Long random(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.concurrent.ExecutionMode;
+import com.study.datajpa.concurrent.VirtualThreads;
+import com.study.datajpa.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 요청 concurrency 개를 동시에 처리하는 시간 (요청 = 외부 호출 대기 slowMillis + 회원 조회 1번)
+ * - PLATFORM : Tomcat 기본 최대 스레드 수(200)의 스레드 풀
+ * - VIRTUAL  : 요청마다 virtual thread, 커넥션은 ConnectionLimitingDataSource 의 semaphore 로 제한 (JDK 21 이상)
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=SlowRequestLoadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlowRequestLoadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int MEMBER_COUNT = 1000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int slowMillis;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private ExecutorService requestExecutor;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        if (mode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("VIRTUAL 모드는 JDK 21 이상에서 실행하세요 (현재 " + Runtime.version() + ")");
+        }
+        context = BenchmarkContext.start("datajpa.execution.mode=" + mode);
+        BenchmarkDataSeeder.seed(context, MEMBER_COUNT, 10);
+        memberRepository = context.getBean(MemberRepository.class);
+        firstId = memberRepository.findListByUsername("member0").get(0).getId();
+        requestExecutor = mode == ExecutionMode.VIRTUAL
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor().orElseThrow()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentSlowRequests() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            requests[i] = CompletableFuture.runAsync(this::slowRequest, requestExecutor);
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+
+    private void slowRequest() {
+        try {
+            Thread.sleep(slowMillis); // 외부 API 호출 등 JDBC 외의 대기
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        memberRepository.findById(firstId + ThreadLocalRandom.current().nextInt(MEMBER_COUNT));
+    }
+}
@@ -0,0 +1,58 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.monitoring.trace.SqlTraceSessionListener;
+import com.study.datajpa.monitoring.trace.SqlTracer;
+import com.study.datajpa.monitoring.trace.SqlTracingStatementInspector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 한건당 추적 비용 (DB 없이 StatementInspector + 세션 리스너 호출만)
+ * - sampleRate=0 : 기록하지 않는 경로 -> gc.alloc.rate.norm 이 0 이어야 함
+ * - sampleRate=1 : 모두 기록 (링 버퍼에 엔트리 할당)
+ *
+ * 실행 예) java -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar SqlTraceBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqlTraceBenchmark {
+
+    private static final String SQL = "select m1_0.member_id, m1_0.age, m1_0.username from member m1_0 where m1_0.username = ?";
+
+    @Param({"0", "0.01", "1"})
+    public double sampleRate;
+
+    private final SqlTracingStatementInspector inspector = new SqlTracingStatementInspector();
+    private final SqlTraceSessionListener listener = new SqlTraceSessionListener();
+    private SqlTracer tracer;
+
+    @Setup
+    public void setUp() {
+        tracer = new SqlTracer(sampleRate, Duration.ofSeconds(1), 1024);
+        SqlTracer.install(tracer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        tracer.close();
+    }
+
+    @Benchmark
+    public String traceStatement() {
+        String sql = inspector.inspect(SQL);
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        return sql;
+    }
+}
@@ -0,0 +1,66 @@
+package com.study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시간 : 컨텍스트 시작부터 첫 요청(GET /members) 응답까지 (time-to-first-request)
+ * - default      : ddl-auto create, 예제 데이터를 시작 중에 적재
+ * - fast-startup : 지연(deferred) repository 초기화, schema.sql + validate, 예제 데이터는 시작 후 백그라운드
+ * - 컴포넌트 인덱스(spring-context-indexer)는 빌드 결과라 두 경우 모두 적용 (끄고 비교하려면 -jvmArgs -Dspring.index.ignore=true)
+ * - 처음 띄우는 JVM 기준이어야 하므로 fork 마다 한번만 측정 (반복은 fork 수로)
+ *
+ * 실행 예) java -jar build/libs/data-jpa-0.0.1-SNAPSHOT-jmh.jar StartupBenchmark -f 10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+    @Param({"default", "fast-startup"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, "spring.profiles.active=" + profile);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/members?page=0&size=10")).GET().build();
+        int status = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("첫 요청 실패: HTTP " + status);
+        }
+        return status;
+    }
+}
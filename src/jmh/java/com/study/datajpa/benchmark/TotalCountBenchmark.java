@@ -0,0 +1,89 @@
+package com.study.datajpa.benchmark;
+
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.paging.TotalCountMode;
+import com.study.datajpa.service.MemberPageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Page 전체 개수 계산 방식 비교
+ * - findPageByAge : 스프링 데이터 JPA 기본 (목록 + count 를 순서대로)
+ * - TotalCountMode 별 MemberPageService.findPageByAge
+ *
+ * 실행 예) ./gradlew jmh -PjmhIncludes=TotalCountBenchmark
+ */
+@State(Scope.Benchmark)
+public class TotalCountBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int memberCount;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberPageService memberPageService;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkDataSeeder.seed(context, memberCount, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberPageService = context.getBean(MemberPageService.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object springDataPage() {
+        return readOnlyTx.execute(status -> memberRepository.findPageByAge(randomAge(), pageRequest()));
+    }
+
+    @Benchmark
+    public Object exact() {
+        return memberPageService.findPageByAge(randomAge(), pageRequest(), TotalCountMode.EXACT);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return memberPageService.findPageByAge(randomAge(), pageRequest(), TotalCountMode.CACHED);
+    }
+
+    @Benchmark
+    public Object async() {
+        return memberPageService.findPageByAge(randomAge(), pageRequest(), TotalCountMode.ASYNC);
+    }
+
+    @Benchmark
+    public Object estimated() {
+        return memberPageService.findPageByAge(randomAge(), pageRequest(), TotalCountMode.ESTIMATED);
+    }
+
+    private Pageable pageRequest() {
+        return PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "username"));
+    }
+
+    private int randomAge() {
+        return BenchmarkDataSeeder.MIN_AGE + ThreadLocalRandom.current().nextInt(BenchmarkDataSeeder.AGE_RANGE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.study.datajpa;
 
+import com.study.datajpa.audit.AuditConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import java.util.Optional;
 import java.util.UUID;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(auditorAwareRef = AuditConfig.AUDITOR_AWARE, dateTimeProviderRef = AuditConfig.DATE_TIME_PROVIDER)
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -18,6 +19,7 @@ public class DataJpaApplication {
 	}
 
 	// 등록자, 수정자를 처리해주는 AuditorAware 스프링 빈 등록 (실무에서는 세션정보나 스프링시큐리티 로그인 정보에서 ID 받음)
+	// 실제 auditing 에는 AuditConfig.auditorAware 가 감싸서 사용 (FAST 모드면 요청 / 트랜잭션마다 한번만 조회)
 	@Bean
 	public AuditorAware<String> auditorProvider() {
 		return () -> Optional.of(UUID.randomUUID().toString());
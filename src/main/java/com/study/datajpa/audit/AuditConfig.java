@@ -0,0 +1,49 @@
+package com.study.datajpa.audit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+
+import java.time.ZoneId;
+
+/**
+ * datajpa.audit.mode 에 따라 auditing 에 쓰는 시계 / 작성자 선택
+ * (@EnableJpaAuditing 의 dateTimeProviderRef, auditorAwareRef 로 지정 -> AuditingHandler 도 같은 값 사용)
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuditConfig {
+
+    public static final String DATE_TIME_PROVIDER = "auditDateTimeProvider";
+    public static final String AUDITOR_AWARE = "auditorAware";
+
+    @Bean(DATE_TIME_PROVIDER)
+    public DateTimeProvider auditDateTimeProvider(@Value("${datajpa.audit.mode:SPRING}") AuditMode mode) {
+        return mode == AuditMode.FAST ? new CoarseClock(ZoneId.systemDefault()) : CurrentDateTimeProvider.INSTANCE;
+    }
+
+    // auditorProvider(DataJpaApplication) 가 실제 작성자 조회
+    @Bean(AUDITOR_AWARE)
+    public AuditorAware<String> auditorAware(@Value("${datajpa.audit.mode:SPRING}") AuditMode mode,
+                                             @Qualifier("auditorProvider") AuditorAware<String> auditorProvider) {
+        return mode == AuditMode.FAST ? new CachingAuditorAware(auditorProvider) : auditorProvider;
+    }
+
+    @Bean
+    public AuditContext auditContext(@Value("${datajpa.audit.mode:SPRING}") AuditMode mode,
+                                     @Qualifier(DATE_TIME_PROVIDER) DateTimeProvider dateTimeProvider,
+                                     @Qualifier(AUDITOR_AWARE) AuditorAware<String> auditorAware,
+                                     ObjectProvider<AuditingHandler> auditingHandler) {
+        return new AuditContext(mode, dateTimeProvider, auditorAware, auditingHandler);
+    }
+
+    @Bean
+    public AuditEvaluationContextExtension auditEvaluationContextExtension(AuditContext auditContext) {
+        return new AuditEvaluationContextExtension(auditContext);
+    }
+}
@@ -0,0 +1,72 @@
+package com.study.datajpa.audit;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import java.time.LocalDateTime;
+
+/**
+ * auditing 에 쓰는 시간 / 작성자 (엔티티 리스너, 벌크 update 가 같은 값을 쓰도록 한 곳에서 제공)
+ *
+ * 벌크 update 는 엔티티 리스너를 거치지 않으므로 직접 세팅해야 함
+ * - JPQL : ... m.lastModifiedDate = :auditNow, m.lastModifiedBy = :auditor ... 후 stampBulkUpdate(query)
+ * - @Query : ... m.lastModifiedDate = :#{auditNow}, m.lastModifiedBy = :#{auditor} ... (AuditEvaluationContextExtension)
+ */
+public class AuditContext {
+
+    public static final String NOW_PARAMETER = "auditNow";
+    public static final String AUDITOR_PARAMETER = "auditor";
+
+    private final AuditMode mode;
+    private final DateTimeProvider dateTimeProvider;
+    private final AuditorAware<String> auditorAware;
+    private final ObjectFactory<AuditingHandler> auditingHandler;
+
+    public AuditContext(AuditMode mode, DateTimeProvider dateTimeProvider, AuditorAware<String> auditorAware,
+                        ObjectFactory<AuditingHandler> auditingHandler) {
+        this.mode = mode;
+        this.dateTimeProvider = dateTimeProvider;
+        this.auditorAware = auditorAware;
+        this.auditingHandler = auditingHandler;
+    }
+
+    public AuditMode getMode() {
+        return mode;
+    }
+
+    public boolean isFast() {
+        return mode == AuditMode.FAST;
+    }
+
+    public LocalDateTime now() {
+        if (dateTimeProvider instanceof CoarseClock) {
+            return ((CoarseClock) dateTimeProvider).now();
+        }
+        return dateTimeProvider.getNow().map(LocalDateTime::from).orElseGet(LocalDateTime::now);
+    }
+
+    public String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    // SPRING 모드에서 엔티티 리스너가 사용
+    public AuditingHandler getAuditingHandler() {
+        return auditingHandler.getObject();
+    }
+
+    // 쿼리에 :auditNow, :auditor 파라미터가 있으면 현재 시간 / 작성자로 세팅
+    public Query stampBulkUpdate(Query query) {
+        for (Parameter<?> parameter : query.getParameters()) {
+            if (NOW_PARAMETER.equals(parameter.getName())) {
+                query.setParameter(NOW_PARAMETER, now());
+            } else if (AUDITOR_PARAMETER.equals(parameter.getName())) {
+                query.setParameter(AUDITOR_PARAMETER, currentAuditor());
+            }
+        }
+        return query;
+    }
+}
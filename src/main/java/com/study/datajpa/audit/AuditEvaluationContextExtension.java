@@ -0,0 +1,37 @@
+package com.study.datajpa.audit;
+
+import org.springframework.data.spel.spi.EvaluationContextExtension;
+
+/**
+ * @Query 의 SpEL 에서 :#{auditNow}, :#{auditor} 로 현재 시간 / 작성자 사용 (벌크 update 감사 컬럼 세팅)
+ */
+public class AuditEvaluationContextExtension implements EvaluationContextExtension {
+
+    private final AuditContext auditContext;
+
+    public AuditEvaluationContextExtension(AuditContext auditContext) {
+        this.auditContext = auditContext;
+    }
+
+    @Override
+    public String getExtensionId() {
+        return "audit";
+    }
+
+    @Override
+    public Object getRootObject() {
+        return new Root();
+    }
+
+    // SpEL 평가 시점에 조회하도록 getter 로 제공
+    public class Root {
+
+        public Object getAuditNow() {
+            return auditContext.now();
+        }
+
+        public String getAuditor() {
+            return auditContext.currentAuditor();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.study.datajpa.audit;
+
+public enum AuditMode {
+    SPRING, // 스프링 데이터 AuditingHandler (@CreatedDate 등 애노테이션을 리플렉션으로 찾아서 세팅, 작성자 / 시간을 매번 조회)
+    FAST    // 필드 직접 세팅 + 작성자는 요청 / 트랜잭션마다 한번만 조회 + 밀리초 단위로 캐시한 시간
+}
@@ -0,0 +1,55 @@
+package com.study.datajpa.audit;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * 작성자를 요청(없으면 트랜잭션)마다 한번만 조회
+ * - 웹 요청 안 : request attribute 에 저장
+ * - 요청 밖(배치 등) 트랜잭션 안 : 트랜잭션이 끝날 때까지 저장
+ * - 둘 다 없으면 매번 조회
+ */
+public class CachingAuditorAware implements AuditorAware<String> {
+
+    private static final String ATTRIBUTE = CachingAuditorAware.class.getName() + ".AUDITOR";
+
+    private final AuditorAware<String> delegate;
+
+    public CachingAuditorAware(AuditorAware<String> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Optional<String> cached = (Optional<String>) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached == null) {
+                cached = delegate.getCurrentAuditor();
+                request.setAttribute(ATTRIBUTE, cached, RequestAttributes.SCOPE_REQUEST);
+            }
+            return cached;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Optional<String> cached = (Optional<String>) TransactionSynchronizationManager.getResource(this);
+            if (cached == null) {
+                cached = delegate.getCurrentAuditor();
+                TransactionSynchronizationManager.bindResource(this, cached);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CachingAuditorAware.this);
+                    }
+                });
+            }
+            return cached;
+        }
+        return delegate.getCurrentAuditor();
+    }
+}
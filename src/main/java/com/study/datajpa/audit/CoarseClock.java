@@ -0,0 +1,48 @@
+package com.study.datajpa.audit;
+
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+
+/**
+ * 같은 밀리초 안에서는 같은 LocalDateTime 을 재사용하는 시계 (auditing 시간은 밀리초 단위면 충분)
+ * LocalDateTime.now() 는 호출마다 시간대 offset 계산 + 객체 생성
+ */
+public class CoarseClock implements DateTimeProvider {
+
+    private final ZoneId zone;
+    private volatile Tick tick = new Tick(Long.MIN_VALUE, null);
+
+    public CoarseClock(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick current = tick;
+        if (current.millis != millis) {
+            current = new Tick(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone));
+            tick = current; // 동시에 갱신돼도 같은 밀리초면 같은 값이므로 락 불필요
+        }
+        return current.time;
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        return Optional.of(now());
+    }
+
+    private static final class Tick {
+        private final long millis;
+        private final LocalDateTime time;
+
+        private Tick(long millis, LocalDateTime time) {
+            this.millis = millis;
+            this.time = time;
+        }
+    }
+}
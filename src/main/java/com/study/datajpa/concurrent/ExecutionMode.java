@@ -0,0 +1,10 @@
+package com.study.datajpa.concurrent;
+
+/**
+ * 요청 처리 / 비동기 repository 조회를 실행하는 스레드 종류
+ */
+public enum ExecutionMode {
+
+    PLATFORM, // 크기가 정해진 스레드 풀 (JDBC 대기 중에도 스레드를 점유)
+    VIRTUAL   // 작업마다 virtual thread (JDK 21 이상, 대기 중에는 캐리어 스레드를 양보)
+}
@@ -0,0 +1,108 @@
+package com.study.datajpa.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * datajpa.execution.mode 에 따라 요청 처리(Tomcat)와 @Async repository 조회를 실행할 스레드 선택
+ *
+ * - PLATFORM : Tomcat 기본 스레드 풀, repository 조회는 connection-permits 크기의 스레드 풀
+ * - VIRTUAL  : 둘 다 작업마다 virtual thread (JDK 21 미만이면 경고 후 PLATFORM 으로 동작)
+ *              + 커넥션은 ConnectionLimitingDataSource 의 semaphore 로 connection-permits 개까지만
+ */
+@Slf4j
+@EnableAsync
+@Configuration
+public class ExecutionModeConfig {
+
+    public static final String REPOSITORY_EXECUTOR = "repositoryTaskExecutor";
+
+    private final ExecutionMode mode;
+    private final int connectionPermits;
+    private final List<ExecutorService> virtualExecutors = new ArrayList<>(); // 빈이 아니므로 직접 종료
+
+    public ExecutionModeConfig(@Value("${datajpa.execution.mode:PLATFORM}") ExecutionMode mode,
+                               @Value("${datajpa.execution.connection-permits:10}") int connectionPermits) {
+        this.mode = effectiveMode(mode);
+        this.connectionPermits = connectionPermits;
+    }
+
+    // Executor 빈을 추가하면 스프링 부트 기본 applicationTaskExecutor 가 등록되지 않으므로 동일하게 직접 등록
+    @Lazy
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = REPOSITORY_EXECUTOR)
+    public AsyncTaskExecutor repositoryTaskExecutor() {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return new TaskExecutorAdapter(newVirtualExecutor());
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(connectionPermits); // 커넥션 수보다 많은 스레드는 어차피 커넥션 대기
+        executor.setMaxPoolSize(connectionPermits);
+        executor.setThreadNamePrefix("repository-");
+        return executor;
+    }
+
+    @Bean
+    @Conditional(VirtualExecutionModeCondition.class)
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualExecutor());
+    }
+
+    // PLATFORM 으로 동작할 때는 커넥션 풀이 이미 제한하므로 감싸지 않음 (semaphore 를 한번 더 거치지 않도록)
+    @Bean
+    @Conditional(VirtualExecutionModeCondition.class)
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${datajpa.execution.connection-permits:10}") int connectionPermits,
+            @Value("${datajpa.execution.connection-wait-timeout:30s}") Duration waitTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource((DataSource) bean, connectionPermits, waitTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private ExecutorService newVirtualExecutor() {
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor().orElseThrow();
+        virtualExecutors.add(executor);
+        return executor;
+    }
+
+    private static ExecutionMode effectiveMode(ExecutionMode mode) {
+        if (mode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+            log.warn("virtual thread 는 JDK 21 이상에서 사용 가능합니다 (현재 {}) -> PLATFORM 으로 실행", Runtime.version());
+            return ExecutionMode.PLATFORM;
+        }
+        return mode;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualExecutors.forEach(ExecutorService::shutdownNow);
+    }
+}
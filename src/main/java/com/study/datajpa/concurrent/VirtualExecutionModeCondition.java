@@ -0,0 +1,17 @@
+package com.study.datajpa.concurrent;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * datajpa.execution.mode=VIRTUAL 이고 실제로 virtual thread 를 쓸 수 있을 때만 (JDK 21 미만이면 PLATFORM 으로 동작하므로 제외)
+ */
+class VirtualExecutionModeCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        String mode = context.getEnvironment().getProperty("datajpa.execution.mode", ExecutionMode.PLATFORM.name());
+        return ExecutionMode.VIRTUAL.name().equalsIgnoreCase(mode.trim()) && VirtualThreads.isSupported();
+    }
+}
@@ -0,0 +1,44 @@
+package com.study.datajpa.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * virtual thread 지원 여부 확인 및 생성
+ * 빌드는 JDK 17 기준이므로 JDK 21 API(Executors.newVirtualThreadPerTaskExecutor)는 리플렉션으로 호출
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactory();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return 작업마다 virtual thread 를 만드는 ExecutorService (JDK 21 미만이면 empty)
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual thread executor 생성 실패", e);
+        }
+    }
+
+    private static Method findFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.datajpa.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * /admin/** 조회 제한 (datajpa.*.local-only 가 true 면 localhost 요청만 허용)
+ */
+final class AdminAccess {
+
+    private AdminAccess() {
+    }
+
+    static void requireLocal(boolean localOnly, HttpServletRequest request) throws IOException {
+        if (localOnly && !InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.study.datajpa.controller;
+
+import com.study.datajpa.monitoring.CacheStatisticsReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final CacheStatisticsReader cacheStatisticsReader;
+
+    @Value("${datajpa.cache-stats.local-only:true}")
+    private boolean localOnly;
+
+    // 캐시(region)별 hit / miss / eviction 통계 + 쿼리별 쿼리 캐시 통계
+    @GetMapping("/admin/cache/stats")
+    public Map<String, Object> cacheStats(HttpServletRequest request) throws IOException {
+        AdminAccess.requireLocal(localOnly, request);
+        return cacheStatisticsReader.read();
+    }
+}
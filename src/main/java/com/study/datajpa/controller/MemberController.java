@@ -1,23 +1,54 @@
 package com.study.datajpa.controller;
 
+import com.study.datajpa.dto.BulkIngestResult;
+import com.study.datajpa.dto.MemberDto;
 import com.study.datajpa.entity.Member;
 import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.fetch.MemberFetchPlan;
+import com.study.datajpa.repository.fetch.MemberSpecs;
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
+import com.study.datajpa.repository.paging.TotalCountMode;
+import com.study.datajpa.repository.projections.NestedClosedProjections;
+import com.study.datajpa.repository.projections.UsernameOnlyDto;
+import com.study.datajpa.service.MemberBulkIngestService;
+import com.study.datajpa.service.MemberDataFormat;
+import com.study.datajpa.service.MemberExportService;
+import com.study.datajpa.service.MemberPageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_KEYSET_SIZE = 2000; // yml의 max-page-size와 동일하게 제한
+
     private final MemberRepository memberRepository;
+    private final MemberBulkIngestService memberBulkIngestService;
+    private final MemberExportService memberExportService;
+    private final MemberPageService memberPageService;
 
     // 도메인 클래스 컨버터 적용 전
     @GetMapping("/members/{id}")
@@ -32,19 +63,108 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * 위 두 API 는 username 하나를 위해 Member 엔티티 전체(감사 컬럼, Team 프록시 포함)를 영속성 컨텍스트에 올림
+     * 아래 API 들은 projection / DTO 로 필요한 컬럼만 조회 (엔티티를 만들지 않음)
+     */
+    @GetMapping("/members/{id}/username")
+    public String findUsername(@PathVariable("id") Long id) {
+        return memberRepository.findProjectionById(id, UsernameOnlyDto.class)
+                .map(UsernameOnlyDto::getUsername)
+                .orElseThrow(() -> memberNotFound(id));
+    }
+
+    // 중첩 projection : username + team.name
+    @GetMapping("/members/{id}/summary")
+    public NestedClosedProjections findSummary(@PathVariable("id") Long id) {
+        return memberRepository.findProjectionById(id, NestedClosedProjections.class)
+                .orElseThrow(() -> memberNotFound(id));
+    }
+
+    /**
+     * /members 의 DTO 버전 (엔티티 대신 id, username, teamName 만 조회)
+     * plan 으로 team 조회 방식 선택 (lazy, team-join, team-batch, projection), age / username 으로 조건 추가
+     * ex) /members/dto?plan=team-batch&age=20&sort=username
+     */
+    @GetMapping("/members/dto")
+    public Page<MemberDto> pageDtoList(@PageableDefault(size= 3, sort = "id") Pageable pageable,
+                                       @RequestParam(defaultValue = "projection") String plan,
+                                       @RequestParam(required = false) Integer age,
+                                       @RequestParam(required = false) String username) {
+        try {
+            Specification<Member> spec = Specification.where(MemberSpecs.ageEquals(age)).and(MemberSpecs.usernameEquals(username));
+            return memberRepository.findMemberDtos(spec, pageable, MemberFetchPlan.from(plan));
+        } catch (IllegalArgumentException | PropertyReferenceException | InvalidDataAccessApiUsageException e) { // 없는 plan, 정렬 속성
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * @PageableDefault로 개별설정시 글로벌설정보다 우선순위 가짐
      * (글로벌설정은 yml에서 할 수 있음)
      */
     @GetMapping("/members")
-    public Page<Member> pageList(@PageableDefault(size= 3, sort = "id") Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    public Page<Member> pageList(@PageableDefault(size= 3, sort = "id") Pageable pageable,
+                                 @RequestParam(value = "count", required = false) TotalCountMode countMode) {
+        if (countMode == null) {
+            return memberRepository.findAll(pageable);
+        }
+        // count=CACHED|ASYNC|ESTIMATED : 응답의 totalExact 로 전체 개수가 정확한 값인지 확인
+        return memberPageService.findAll(pageable, countMode);
+    }
+
+    // 비동기 조회 : 요청 스레드는 바로 반환되고 repository 조회가 끝나면 응답 (datajpa.execution.mode)
+    @GetMapping("/members/async")
+    public CompletableFuture<List<MemberDto>> asyncMemberDtos() {
+        return memberRepository.findAsyncMemberDto();
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, 10 + i));
+    /**
+     * keyset 페이징 : 응답의 nextToken을 다음 요청의 token으로 넘기면 이어서 조회
+     * ex) /members/keyset?sort=age&size=3 -> /members/keyset?sort=age&size=3&token=...
+     */
+    @GetMapping("/members/keyset")
+    public KeysetWindow<Member> keysetList(@RequestParam(defaultValue = "id") String sort,
+                                           @RequestParam(required = false) String token,
+                                           @RequestParam(defaultValue = "3") int size) {
+        try {
+            return memberRepository.findMemberKeyset(MemberKeysetSort.from(sort), token, Math.min(Math.max(size, 1), MAX_KEYSET_SIZE));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 대량 등록 : 본문을 NDJSON / CSV 로 한 줄씩 읽어서 batch insert
+     * ex) curl -X POST -H "Content-Type: text/csv" --data-binary @members.csv localhost:8080/members/bulk
+     */
+    @PostMapping(value = "/members/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public BulkIngestResult bulkIngest(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            return memberBulkIngestService.ingest(body, MemberDataFormat.fromContentType(contentType));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
+
+    /**
+     * 전체 내보내기 : 조회하면서 바로 응답에 씀 (전체 목록을 메모리에 만들지 않음)
+     * ex) curl "localhost:8080/members/export?format=csv" -o members.csv
+     */
+    @GetMapping("/members/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        MemberDataFormat dataFormat;
+        try {
+            dataFormat = MemberDataFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다. format=" + format, e);
+        }
+        response.setContentType(dataFormat.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        memberExportService.export(dataFormat, response.getOutputStream());
+    }
+
+    private ResponseStatusException memberNotFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "회원이 없습니다. id=" + id);
+    }
 }
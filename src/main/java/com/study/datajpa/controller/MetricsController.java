@@ -0,0 +1,39 @@
+package com.study.datajpa.controller;
+
+import com.study.datajpa.monitoring.metrics.RepositoryMetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ObjectProvider<RepositoryMetricsRegistry> repositoryMetricsRegistry;
+
+    @Value("${datajpa.metrics.local-only:true}")
+    private boolean localOnly;
+
+    // repository 메소드별 지연시간(p50/p95/p99), row 수, 에러 수 (Prometheus text format)
+    @GetMapping("/admin/metrics")
+    public void metrics(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RepositoryMetricsRegistry registry = repositoryMetricsRegistry.getIfAvailable();
+        if (registry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "datajpa.metrics.enabled=false");
+        }
+        AdminAccess.requireLocal(localOnly, request);
+        response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+        Writer writer = response.getWriter();
+        registry.writePrometheus(writer);
+        writer.flush();
+    }
+}
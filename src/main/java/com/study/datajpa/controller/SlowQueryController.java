@@ -0,0 +1,42 @@
+package com.study.datajpa.controller;
+
+import com.study.datajpa.monitoring.slowquery.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    @Value("${datajpa.slow-query.local-only:true}")
+    private boolean localOnly;
+
+    // 느린 SQL 모양별 통계 + EXPLAIN / 전체 스캔 컬럼 / 인덱스 제안, 전체 소요시간 큰 순서
+    @GetMapping("/admin/slow-queries")
+    public Map<String, Object> slowQueries(HttpServletRequest request,
+                                           @RequestParam(defaultValue = "50") int limit) throws IOException {
+        SlowQueryLog log = slowQueryLog.getIfAvailable();
+        if (log == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "datajpa.slow-query.enabled=false");
+        }
+        AdminAccess.requireLocal(localOnly, request);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxShapes", log.getMaxShapes());
+        result.put("dropped", log.getDroppedCount());
+        result.put("shapes", log.getShapes(limit));
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.datajpa.controller;
+
+import com.study.datajpa.monitoring.trace.SqlTracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class SqlTraceController {
+
+    private final ObjectProvider<SqlTracer> sqlTracer;
+
+    @Value("${datajpa.sql-trace.local-only:true}")
+    private boolean localOnly;
+
+    // 최근 샘플링된 SQL (slow=true 면 느린 SQL 만), 최신순
+    @GetMapping("/admin/sql-trace")
+    public Map<String, Object> sqlTrace(HttpServletRequest request,
+                                        @RequestParam(defaultValue = "false") boolean slow,
+                                        @RequestParam(defaultValue = "100") int limit) throws IOException {
+        SqlTracer tracer = sqlTracer.getIfAvailable();
+        if (tracer == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "datajpa.sql-trace.enabled=false");
+        }
+        AdminAccess.requireLocal(localOnly, request);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sampleRate", tracer.getSampleRate());
+        result.put("slowThresholdMillis", tracer.getSlowThreshold().toMillis());
+        result.put("bufferSize", tracer.getBufferSize());
+        result.put("recorded", tracer.getRecordedCount());
+        result.put("slowRecorded", tracer.getSlowCount());
+        result.put("entries", slow ? tracer.getSlow(limit) : tracer.getRecent(limit));
+        return result;
+    }
+}
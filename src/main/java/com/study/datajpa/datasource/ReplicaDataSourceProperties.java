@@ -0,0 +1,22 @@
+package com.study.datajpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * datajpa.datasource.routing.replicas[n].url / username / password
+ * (primary 는 기존 spring.datasource 설정 사용)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("datajpa.datasource.routing")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+    private List<DataSourceProperties> replicas = new ArrayList<>();
+}
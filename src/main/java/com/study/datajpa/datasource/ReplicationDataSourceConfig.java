@@ -0,0 +1,52 @@
+package com.study.datajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * primary / replica 라우팅 (datajpa.datasource.routing.enabled=true 일 때만)
+ *
+ * - @Transactional(readOnly = true) 와 spring data 의 조회 메소드 -> replica
+ *   (상속받은 CRUD 조회 메소드만 기본 readOnly, 직접 선언한 조회 메소드는 repository 인터페이스에 @Transactional(readOnly = true) 필요)
+ * - 쓰기, @Lock 메소드, readOnly 가 아닌 트랜잭션 안의 모든 조회 -> primary
+ * replica 는 복제 지연이 있을 수 있으므로 방금 쓴 데이터를 바로 읽어야 하면 쓰기 트랜잭션 안에서 조회할 것
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicationDataSourceConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>(); // 빈이 아니므로 직접 close
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaDataSourceProperties replicaProperties) {
+        HikariDataSource primary = createPool(primaryProperties, "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getReplicas().size(); i++) {
+            replicas.add(createPool(replicaProperties.getReplicas().get(i), "replica-" + i));
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicationRoutingDataSource(primary, replicas));
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(poolName);
+        pools.add(pool);
+        return pool;
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.datajpa.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class BulkIngestResult {
+
+    private final long rows;
+    private final long elapsedMillis;
+    private final long rowsPerSecond;
+
+    public BulkIngestResult(long rows, long elapsedNanos) {
+        this.rows = rows;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos == 0 ? 0 : rows * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,41 @@
+package com.study.datajpa.entity;
+
+import com.study.datajpa.audit.AuditContext;
+import org.springframework.beans.factory.ObjectFactory;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * BaseTimeEntity(BaseEntity) 감사 필드 세팅 (AuditingEntityListener 대신 사용, 하이버네이트가 스프링 빈으로 생성)
+ * - FAST : 엔티티 필드에 직접 세팅 (작성자는 BaseEntity 일 때만 조회)
+ * - SPRING : AuditingHandler 에 위임 (AuditingEntityListener 와 같은 동작)
+ */
+public class AuditStampListener {
+
+    private final ObjectFactory<AuditContext> auditContext;
+
+    public AuditStampListener(ObjectFactory<AuditContext> auditContext) {
+        this.auditContext = auditContext;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        AuditContext context = auditContext.getObject();
+        if (context.isFast() && target instanceof BaseTimeEntity) {
+            ((BaseTimeEntity) target).stampCreated(context.now(), context::currentAuditor);
+            return;
+        }
+        context.getAuditingHandler().markCreated(target);
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        AuditContext context = auditContext.getObject();
+        if (context.isFast() && target instanceof BaseTimeEntity) {
+            ((BaseTimeEntity) target).stampModified(context.now(), context::currentAuditor);
+            return;
+        }
+        context.getAuditingHandler().markModified(target);
+    }
+}
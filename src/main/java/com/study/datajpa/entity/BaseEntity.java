@@ -3,13 +3,12 @@ package com.study.datajpa.entity;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
-import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
-@EntityListeners(AuditingEntityListener.class)
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity {
@@ -20,4 +19,18 @@ public class BaseEntity extends BaseTimeEntity {
 
     @LastModifiedBy
     private String lastModifiedBy;
+
+    @Override
+    void stampCreated(LocalDateTime now, Supplier<String> auditor) {
+        super.stampCreated(now, auditor);
+        String current = auditor.get();
+        this.createdBy = current;
+        this.lastModifiedBy = current;
+    }
+
+    @Override
+    void stampModified(LocalDateTime now, Supplier<String> auditor) {
+        super.stampModified(now, auditor);
+        this.lastModifiedBy = auditor.get();
+    }
 }
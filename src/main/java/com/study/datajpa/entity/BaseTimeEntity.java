@@ -3,14 +3,14 @@ package com.study.datajpa.entity;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(AuditStampListener.class) // 하위 클래스(BaseEntity)에 다시 달면 리스너가 두번 실행됨
 @MappedSuperclass
 @Getter
 public class BaseTimeEntity {
@@ -20,4 +20,14 @@ public class BaseTimeEntity {
 
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    // AuditStampListener(FAST 모드)가 호출, 등록시 수정일도 같이 채움 (AuditingHandler 기본 동작과 같음)
+    void stampCreated(LocalDateTime now, Supplier<String> auditor) {
+        this.createdDate = now;
+        this.lastModifiedDate = now;
+    }
+
+    void stampModified(LocalDateTime now, Supplier<String> auditor) {
+        this.lastModifiedDate = now;
+    }
 }
@@ -0,0 +1,65 @@
+package com.study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+
+/**
+ * 나눠서 실행하는 벌크 수정(ChunkedBulkUpdateService)의 진행상황
+ * 청크 수정과 같은 트랜잭션에서 저장되므로 중간에 죽어도 마지막으로 커밋된 청크 다음부터 이어서 실행 가능
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "status", "lastProcessedId", "maxId", "updatedRows", "chunks"})
+public class BulkUpdateJob extends BaseTimeEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "job_id")
+    private String id;
+
+    @Column(length = 2000)
+    private String parameters; // 같은 jobId 로 다른 조건의 수정을 이어서 실행하지 않도록 확인
+
+    private Long lastProcessedId; // 이 id 까지 처리 완료
+    private Long maxId;           // 시작 시점의 최대 id (이후에 추가된 row 는 대상 아님)
+    private long updatedRows;
+    private int chunks;
+
+    @Enumerated(EnumType.STRING)
+    private BulkUpdateJobStatus status;
+
+    public BulkUpdateJob(String id, String parameters, long minId, long maxId) {
+        this.id = id;
+        this.parameters = parameters;
+        this.lastProcessedId = minId - 1;
+        this.maxId = maxId;
+        this.status = lastProcessedId >= maxId ? BulkUpdateJobStatus.COMPLETED : BulkUpdateJobStatus.RUNNING;
+    }
+
+    public void chunkCommitted(long lastProcessedId, int updatedRows) {
+        this.lastProcessedId = lastProcessedId;
+        this.updatedRows += updatedRows;
+        this.chunks++;
+        if (lastProcessedId >= maxId) {
+            this.status = BulkUpdateJobStatus.COMPLETED;
+        }
+    }
+
+    public boolean isCompleted() {
+        return status == BulkUpdateJobStatus.COMPLETED;
+    }
+
+    @Override
+    public boolean isNew() {
+        return getCreatedDate() == null;
+    }
+}
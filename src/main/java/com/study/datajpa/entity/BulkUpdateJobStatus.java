@@ -0,0 +1,5 @@
+package com.study.datajpa.entity;
+
+public enum BulkUpdateJobStatus {
+    RUNNING, COMPLETED
+}
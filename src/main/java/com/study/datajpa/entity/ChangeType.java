@@ -0,0 +1,6 @@
+package com.study.datajpa.entity;
+
+public enum ChangeType {
+    INSERT, UPDATE, DELETE,
+    BULK_UPDATE // 벌크 수정 (어떤 row 가 바뀌었는지 모르므로 aggregateId 없음, payload 에 조건)
+}
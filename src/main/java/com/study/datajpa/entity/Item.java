@@ -1,30 +1,43 @@
 package com.study.datajpa.entity;
 
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
-import java.time.LocalDateTime;
 
+/**
+ * id 를 직접 넣는 엔티티 : save() 는 isNew() 가 true 면 persist, false 면 merge (merge 는 select 후 수정)
+ * createdDate 로 새 엔티티인지 판단 (persist 시점에 AuditStampListener 가 채움)
+ * 대량으로 넣거나 고칠 때는 ItemRepository.upsertAll 사용
+ */
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@AllArgsConstructor
-public class Item implements Persistable<String> {
+public class Item extends BaseTimeEntity implements Persistable<String> {
 
     @Id
     private String id;
 
-    @CreatedDate
-    private LocalDateTime createdDate;
+    private String name;
+
+    public Item(String id) {
+        this.id = id;
+    }
+
+    public Item(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public void changeName(String name) {
+        this.name = name;
+    }
 
     @Override
     public boolean isNew() {
-        return createdDate == null;
+        return getCreatedDate() == null;
     }
 }
@@ -1,6 +1,8 @@
 package com.study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -9,15 +11,28 @@ import javax.persistence.*;
 @Entity // Entity 사용시 protected 제어레벨 이상의 기본생성자 필수
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"}) // 연관관계(Team)은 toString() 하지말자 (무한루프 빠질 수 있음)
+@Cacheable // 2차 캐시 적용 (bulk 연산 실행시 Hibernate가 해당 엔티티 캐시를 자동으로 비움)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq",
+        allocationSize = 50) // 시퀀스를 50개씩 미리 받아와서 insert마다 시퀀스 조회하지 않음 (batch insert 성능)
+@Table(indexes = { // 조회 조건으로 쓰는 컬럼 (QueryPlanTest 에서 인덱스를 타는지 확인)
+        @Index(name = "idx_member_username", columnList = "username"), // findListByUsername, findByNames, username keyset 페이징
+        @Index(name = "idx_member_age", columnList = "age"),           // findPageByAge, countByAge, bulkAgePlus
+        @Index(name = "idx_member_team_id", columnList = "team_id")    // team 에서 member 로 join (DB 가 FK 인덱스를 자동으로 만들지 않는 경우 대비)
+})
 public class Member extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
+    @Version // 낙관적 락: update시 where version = ? 로 확인하고 1 증가 (다른 트랜잭션이 먼저 바꿨으면 예외)
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY) // 연관관계는 무조건 LAZY로 세팅할 것(성능최적화위해 필수)
     @JoinColumn(name = "team_id") // (name = "외래키")
     private Team team;
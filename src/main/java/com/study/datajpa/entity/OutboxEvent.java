@@ -0,0 +1,51 @@
+package com.study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 변경 이벤트 outbox (Member, Team 변경과 같은 트랜잭션에서 OutboxRecorder 가 JDBC batch 로 insert)
+ * OutboxPublisher 가 publishedAt 이 없는 것만 id 순서로 가져가서 sink 로 보내고 publishedAt 세팅
+ * 발행 후 datajpa.outbox.retention 이 지나면 OutboxPublisher 가 삭제
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "aggregateType", "aggregateId", "changeType"})
+@Table(indexes = @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt, outbox_event_id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // JDBC insert 에서 id 를 넣지 않도록 DB 가 채번
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    private String aggregateType; // 엔티티 이름 (Member, Team)
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    @Column(length = 2000)
+    private String payload; // JSON (UPDATE 는 바뀐 필드, BULK_UPDATE 는 메소드와 파라미터)
+
+    private LocalDateTime occurredAt;
+    private LocalDateTime publishedAt;
+
+    public void published(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,6 +13,8 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Cacheable // 변경은 적고 조회가 많으므로 2차 캐시 적용
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Team extends BaseEntity{
 
     @Id
@@ -19,6 +23,10 @@ public class Team extends BaseEntity{
     private Long id;
     private String name;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @OneToMany(mappedBy = "team") // 외래키 없는 곳에 mapped by 거는 것 권장
     private List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,77 @@
+package com.study.datajpa.monitoring;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 2차 캐시 / 쿼리 결과 캐시 통계 조회
+ * - regions : ehcache.xml 에서 enable-statistics="true" 로 등록된 표준 CacheStatistics MBean (캐시별 hit/miss/eviction)
+ * - queries : Hibernate 통계 (쿼리별 캐시 hit/miss, 캐시된 결과가 테이블 변경으로 무효화된 경우는 miss)
+ *             datajpa.cache-stats.statistics=true 일 때만 수집됨 (기본은 dev 프로파일에서만)
+ */
+@Component
+public class CacheStatisticsReader {
+
+    private static final String[] ATTRIBUTES = {
+            "CacheHits", "CacheMisses", "CacheHitPercentage", "CachePuts", "CacheRemovals", "CacheEvictions"
+    };
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final Statistics statistics;
+
+    public CacheStatisticsReader(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Map<String, Object> read() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", readRegions());
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("queries", readQueries());
+        return result;
+    }
+
+    public Map<String, Map<String, Object>> readRegions() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                for (String attribute : ATTRIBUTES) {
+                    stats.put(attribute, mBeanServer.getAttribute(name, attribute));
+                }
+                result.put(name.getKeyProperty("Cache"), stats);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("캐시 통계를 읽을 수 없습니다.", e);
+        }
+        return result;
+    }
+
+    public Map<String, Map<String, Object>> readQueries() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getCachePutCount() == 0) {
+                continue; // 쿼리 캐시를 사용하지 않는 쿼리는 제외
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("cacheHits", queryStatistics.getCacheHitCount());
+            stats.put("cacheMisses", queryStatistics.getCacheMissCount());
+            stats.put("cachePuts", queryStatistics.getCachePutCount());
+            stats.put("executions", queryStatistics.getExecutionCount());
+            result.put(query, stats);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.datajpa.monitoring;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.function.Function;
+
+/**
+ * 모든 spring data repository 프록시에 advice 추가 (SQL 개수, 지연시간 측정 등 공통 계측용)
+ *
+ * - repository 가 만들어지기 전에 등록해야 하므로 static @Bean 으로 선언할 것
+ * - 트랜잭션 커밋(flush)까지 포함되도록 트랜잭션 advice 보다 바깥에 추가
+ * - adviceFactory 가 null 을 반환하면 해당 repository 에는 추가하지 않음
+ */
+public class RepositoryInterceptorPostProcessor implements BeanPostProcessor {
+
+    private final Function<RepositoryInformation, Advice> adviceFactory;
+
+    public RepositoryInterceptorPostProcessor(Function<RepositoryInformation, Advice> adviceFactory) {
+        this.adviceFactory = adviceFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                        Advice advice = adviceFactory.apply(repositoryInformation);
+                        if (advice != null) {
+                            int position = proxyFactory.indexOf(ExposeInvocationInterceptor.ADVISOR) + 1;
+                            proxyFactory.addAdvice(position, advice);
+                        }
+                    }));
+        }
+        return bean;
+    }
+}
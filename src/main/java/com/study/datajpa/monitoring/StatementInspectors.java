@@ -0,0 +1,30 @@
+package com.study.datajpa.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+
+/**
+ * StatementInspector 는 하나만 설정할 수 있으므로, 이미 설정된 것이 있으면 이어서 실행하도록 묶어서 등록
+ * (SQL 개수 세기, SQL 추적을 각각 켜고 끌 수 있도록)
+ */
+public final class StatementInspectors {
+
+    private StatementInspectors() {
+    }
+
+    public static void append(Map<String, Object> hibernateProperties, StatementInspector inspector) {
+        Object existing = hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR);
+        if (existing == null) {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+            return;
+        }
+        if (!(existing instanceof StatementInspector)) {
+            throw new IllegalStateException("StatementInspector 인스턴스만 묶을 수 있습니다: " + existing);
+        }
+        StatementInspector first = (StatementInspector) existing;
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> inspector.inspect(first.inspect(sql)));
+    }
+}
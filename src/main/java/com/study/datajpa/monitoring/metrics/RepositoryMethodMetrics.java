@@ -0,0 +1,90 @@
+package com.study.datajpa.monitoring.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * repository 메소드 하나의 지연시간 / 호출 / 에러 / row 수
+ *
+ * 기록(record)은 여러 스레드에서 락 없이, 할당 없이 실행됨
+ * - 지연시간 : HdrHistogram Recorder (마이크로초, 유효숫자 2자리)
+ * - 개수, 합계 : LongAdder
+ */
+public class RepositoryMethodMetrics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String repository;
+    private final String method;
+
+    private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    private Histogram interval; // snapshot 에서 재사용
+
+    RepositoryMethodMetrics(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+
+    void record(long elapsedNanos, int rowCount, boolean error) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        calls.increment();
+        totalNanos.add(elapsedNanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 분위수는 직전 snapshot 이후 구간 기준, 나머지는 누적값
+     */
+    synchronized Snapshot snapshot() {
+        interval = latency.getIntervalHistogram(interval);
+        boolean empty = interval.getTotalCount() == 0;
+        return new Snapshot(repository, method,
+                empty ? Double.NaN : seconds(interval.getValueAtPercentile(50)),
+                empty ? Double.NaN : seconds(interval.getValueAtPercentile(95)),
+                empty ? Double.NaN : seconds(interval.getValueAtPercentile(99)),
+                calls.sum(), totalNanos.sum() / 1_000_000_000d, rows.sum(), errors.sum());
+    }
+
+    private static double seconds(long micros) {
+        return micros / 1_000_000d;
+    }
+
+    static class Snapshot {
+
+        final String repository;
+        final String method;
+        final double p50Seconds;
+        final double p95Seconds;
+        final double p99Seconds;
+        final long calls;
+        final double totalSeconds;
+        final long rows;
+        final long errors;
+
+        Snapshot(String repository, String method, double p50Seconds, double p95Seconds, double p99Seconds,
+                 long calls, double totalSeconds, long rows, long errors) {
+            this.repository = repository;
+            this.method = method;
+            this.p50Seconds = p50Seconds;
+            this.p95Seconds = p95Seconds;
+            this.p99Seconds = p99Seconds;
+            this.calls = calls;
+            this.totalSeconds = totalSeconds;
+            this.rows = rows;
+            this.errors = errors;
+        }
+    }
+}
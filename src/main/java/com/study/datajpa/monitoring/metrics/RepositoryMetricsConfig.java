@@ -0,0 +1,25 @@
+package com.study.datajpa.monitoring.metrics;
+
+import com.study.datajpa.monitoring.RepositoryInterceptorPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * repository 메소드 지표 수집 설정 (datajpa.metrics.enabled=false 로 끌 수 있음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static RepositoryMetricsRegistry repositoryMetricsRegistry() {
+        return new RepositoryMetricsRegistry();
+    }
+
+    @Bean
+    public static RepositoryInterceptorPostProcessor repositoryMetricsPostProcessor(RepositoryMetricsRegistry repositoryMetricsRegistry) {
+        return new RepositoryInterceptorPostProcessor(repositoryInformation ->
+                new RepositoryMetricsInterceptor(repositoryInformation.getRepositoryInterface(), repositoryMetricsRegistry));
+    }
+}
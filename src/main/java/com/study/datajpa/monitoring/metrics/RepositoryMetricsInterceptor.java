@@ -0,0 +1,88 @@
+package com.study.datajpa.monitoring.metrics;
+
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+
+/**
+ * repository 메소드 호출마다 지연시간, 반환 row 수, 에러 기록
+ * (오버로딩된 메소드를 구분하도록 메소드 이름은 findAll(Pageable) 처럼 파라미터 타입 포함)
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final RepositoryMetricsRegistry registry;
+    private final Map<Method, RepositoryMethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(Class<?> repositoryInterface, RepositoryMetricsRegistry registry) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryMethodMetrics methodMetrics = metricsOf(invocation.getMethod());
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodMetrics.record(System.nanoTime() - start, rowsOf(result), false);
+            return result;
+        } catch (Throwable e) {
+            methodMetrics.record(System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+
+    private RepositoryMethodMetrics metricsOf(Method method) {
+        RepositoryMethodMetrics methodMetrics = metrics.get(method); // 대부분 여기서 끝남 (람다 할당 없음)
+        if (methodMetrics == null) {
+            methodMetrics = metrics.computeIfAbsent(method, m -> registry.register(repositoryName, signature(m)));
+        }
+        return methodMetrics;
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    // count(), 벌크 수정 결과 같은 숫자나 Stream(아직 읽지 않음)은 row 수로 세지 않음
+    // @Async 조회의 CompletableFuture 는 이미 끝났으면 결과로 세고, 아직이면 기다리지 않고 0
+    static int rowsOf(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return 0;
+        }
+        if (result instanceof CompletableFuture) {
+            CompletableFuture<?> future = (CompletableFuture<?>) result;
+            return future.isDone() && !future.isCompletedExceptionally() ? rowsOf(future.getNow(null)) : 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof KeysetWindow) {
+            return ((KeysetWindow<?>) result).getSize();
+        }
+        if (result instanceof Iterable || result instanceof BaseStream) {
+            return 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.study.datajpa.monitoring.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * repository 메소드별 지표를 모아서 Prometheus text format(0.0.4)으로 출력
+ */
+public class RepositoryMetricsRegistry {
+
+    private final Map<String, RepositoryMethodMetrics> metrics = new ConcurrentSkipListMap<>();
+
+    RepositoryMethodMetrics register(String repository, String method) {
+        return metrics.computeIfAbsent(repository + "." + method, key -> new RepositoryMethodMetrics(repository, method));
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        List<RepositoryMethodMetrics.Snapshot> snapshots = metrics.values().stream()
+                .map(RepositoryMethodMetrics::snapshot)
+                .collect(Collectors.toList());
+
+        writer.write("# HELP datajpa_repository_latency_seconds Repository method latency (quantiles cover the interval since the previous scrape)\n");
+        writer.write("# TYPE datajpa_repository_latency_seconds summary\n");
+        for (RepositoryMethodMetrics.Snapshot snapshot : snapshots) {
+            String labels = labels(snapshot);
+            writeSample(writer, "datajpa_repository_latency_seconds", labels + ",quantile=\"0.5\"", snapshot.p50Seconds);
+            writeSample(writer, "datajpa_repository_latency_seconds", labels + ",quantile=\"0.95\"", snapshot.p95Seconds);
+            writeSample(writer, "datajpa_repository_latency_seconds", labels + ",quantile=\"0.99\"", snapshot.p99Seconds);
+            writeSample(writer, "datajpa_repository_latency_seconds_sum", labels, snapshot.totalSeconds);
+            writeSample(writer, "datajpa_repository_latency_seconds_count", labels, snapshot.calls);
+        }
+
+        writer.write("# HELP datajpa_repository_rows_total Entities/rows returned by repository methods\n");
+        writer.write("# TYPE datajpa_repository_rows_total counter\n");
+        for (RepositoryMethodMetrics.Snapshot snapshot : snapshots) {
+            writeSample(writer, "datajpa_repository_rows_total", labels(snapshot), snapshot.rows);
+        }
+
+        writer.write("# HELP datajpa_repository_errors_total Repository method invocations that threw an exception\n");
+        writer.write("# TYPE datajpa_repository_errors_total counter\n");
+        for (RepositoryMethodMetrics.Snapshot snapshot : snapshots) {
+            writeSample(writer, "datajpa_repository_errors_total", labels(snapshot), snapshot.errors);
+        }
+    }
+
+    private static String labels(RepositoryMethodMetrics.Snapshot snapshot) {
+        return "repository=\"" + snapshot.repository + "\",method=\"" + snapshot.method + "\"";
+    }
+
+    private static void writeSample(Writer writer, String name, String labels, double value) throws IOException {
+        writer.write(name + "{" + labels + "} " + (Double.isNaN(value) ? "NaN" : Double.toString(value)) + "\n");
+    }
+}
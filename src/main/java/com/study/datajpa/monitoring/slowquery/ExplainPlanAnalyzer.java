@@ -0,0 +1,110 @@
+package com.study.datajpa.monitoring.slowquery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * H2 EXPLAIN 결과에서 "조건에 쓰였는데 인덱스 없이 전체 스캔한 컬럼" 찾기
+ *
+ * <pre>
+ * FROM "PUBLIC"."MEMBER" "MEMBER0_"
+ *     /* PUBLIC.MEMBER.tableScan *&#47;      <- 인덱스를 안 쓴 테이블 (/* PUBLIC.IDX_MEMBER_USERNAME *&#47; 처럼 인덱스 전체를 읽어도 마찬가지)
+ * WHERE "MEMBER0_"."USERNAME" = ?1        <- 감시 대상 컬럼이 조건(WHERE / ON)에 있으면 표시
+ * </pre>
+ * 처음 읽는(driving) 테이블은 어차피 한번만 읽으므로 다른 테이블과의 join 조건("M"."TEAM_ID" = "T"."TEAM_ID")은 제외,
+ * join 되는 테이블은 바깥 row 마다 다시 읽으므로 join 조건도 포함
+ */
+public class ExplainPlanAnalyzer {
+
+    // "스키마"."테이블" ["별칭"] /* 스키마.테이블.tableScan */ 또는 조건 없는 인덱스 전체 스캔 /* 스키마.인덱스 */ (조건으로 찾으면 /* 스키마.인덱스: 조건 */)
+    private static final Pattern TABLE_SCAN = Pattern.compile("\"(\\w+)\"\\.\"(\\w+)\"(?:\\s+\"(\\w+)\")?\\s*/\\*\\s*\\1\\.[\\w.]+\\s*\\*/");
+    private static final Pattern CONDITION_END = Pattern.compile("\\n(?:ORDER BY|GROUP BY|FETCH|OFFSET|LIMIT)\\b");
+    private static final Pattern ON_CLAUSE = Pattern.compile("\\n\\s*ON\\s+[^\\n]*");
+    private static final Pattern JOIN = Pattern.compile("\\bJOIN\\s+\"");
+    private static final Pattern COLUMN_EQUALS_COLUMN = Pattern.compile("\"\\w+\"\\.\"\\w+\"\\s*=\\s*\"\\w+\"\\.\"\\w+\"");
+
+    private final List<WatchedColumn> watchedColumns = new ArrayList<>();
+
+    // "member.username" 형식 (테이블.컬럼)
+    public ExplainPlanAnalyzer(Collection<String> watchedColumns) {
+        for (String watched : watchedColumns) {
+            String[] parts = watched.trim().split("\\.");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("감시할 컬럼은 테이블.컬럼 형식이어야 합니다: " + watched);
+            }
+            this.watchedColumns.add(new WatchedColumn(parts[0], parts[1]));
+        }
+    }
+
+    // 전체 스캔된 감시 대상 컬럼 ("member.username")
+    public List<String> fullScans(String plan) {
+        Matcher join = JOIN.matcher(plan);
+        int firstJoin = join.find() ? join.start() : plan.length();
+        String joinedConditions = conditionsOf(plan);
+        String drivingConditions = COLUMN_EQUALS_COLUMN.matcher(joinedConditions).replaceAll("");
+        List<String> fullScans = new ArrayList<>();
+        Matcher scan = TABLE_SCAN.matcher(plan);
+        while (scan.find()) {
+            String table = scan.group(2);
+            String alias = scan.group(3);
+            String conditions = scan.start() < firstJoin ? drivingConditions : joinedConditions;
+            for (WatchedColumn column : watchedColumns) {
+                if (column.table.equalsIgnoreCase(table) && column.usedIn(conditions, alias == null ? table : alias, alias == null)
+                        && !fullScans.contains(column.toString())) {
+                    fullScans.add(column.toString());
+                }
+            }
+        }
+        return fullScans;
+    }
+
+    public static String indexAdvice(String fullScan) {
+        String[] parts = fullScan.split("\\.");
+        return "create index idx_" + parts[0] + "_" + parts[1] + " on " + parts[0] + " (" + parts[1] + ")";
+    }
+
+    // WHERE 절(정렬 / 페이징 전까지) + join 의 ON 절 (select 목록, update 의 SET 은 제외)
+    private static String conditionsOf(String plan) {
+        StringBuilder conditions = new StringBuilder();
+        Matcher on = ON_CLAUSE.matcher(plan);
+        while (on.find()) {
+            conditions.append(on.group()).append('\n');
+        }
+        int where = plan.indexOf("\nWHERE ");
+        if (where >= 0) {
+            Matcher end = CONDITION_END.matcher(plan);
+            int to = end.find(where) ? end.start() : plan.length();
+            conditions.append(plan, where, to);
+        }
+        return conditions.toString();
+    }
+
+    private static class WatchedColumn {
+
+        private final String table;
+        private final String column;
+
+        private WatchedColumn(String table, String column) {
+            this.table = table.toLowerCase(Locale.ROOT);
+            this.column = column.toLowerCase(Locale.ROOT);
+        }
+
+        // H2 는 이름을 대문자로 보여줌, 별칭 없는 update / delete 는 컬럼만 ("AGE")
+        private boolean usedIn(String conditions, String qualifier, boolean unqualifiedAllowed) {
+            String quotedColumn = "\"" + column.toUpperCase(Locale.ROOT) + "\"";
+            if (conditions.contains("\"" + qualifier.toUpperCase(Locale.ROOT) + "\"." + quotedColumn)) {
+                return true;
+            }
+            return unqualifiedAllowed && Pattern.compile("(?<![.\\w\"])" + Pattern.quote(quotedColumn)).matcher(conditions).find();
+        }
+
+        @Override
+        public String toString() {
+            return table + "." + column;
+        }
+    }
+}
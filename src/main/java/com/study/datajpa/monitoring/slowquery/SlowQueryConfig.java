@@ -0,0 +1,28 @@
+package com.study.datajpa.monitoring.slowquery;
+
+import com.study.datajpa.monitoring.trace.SqlTracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * 느린 SQL 기록 + EXPLAIN 설정 (기준 시간은 datajpa.sql-trace.slow-threshold, 조회: /admin/slow-queries)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean // 컨텍스트 종료시 close() 로 EXPLAIN 스레드 종료
+    public SlowQueryLog slowQueryLog(JdbcTemplate jdbcTemplate, ObjectProvider<SqlTracer> sqlTracer,
+                                     @Value("${datajpa.slow-query.watched-columns:member.username,member.age,member.team_id}") List<String> watchedColumns,
+                                     @Value("${datajpa.slow-query.max-shapes:500}") int maxShapes) {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(jdbcTemplate, watchedColumns, maxShapes);
+        sqlTracer.ifAvailable(tracer -> tracer.addSlowStatementListener(slowQueryLog::record)); // sql-trace 를 끄면 기록 안함
+        return slowQueryLog;
+    }
+}
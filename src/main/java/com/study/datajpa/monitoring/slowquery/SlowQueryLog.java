@@ -0,0 +1,132 @@
+package com.study.datajpa.monitoring.slowquery;
+
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import com.study.datajpa.monitoring.trace.SqlTraceEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 느린 SQL 을 모양(shape)별로 모아서 기록 (SqlTracer 의 느린 SQL 리스너)
+ *
+ * - 처음 보는 select / update / delete 모양은 백그라운드 스레드에서 EXPLAIN 한번 (요청 스레드는 기다리지 않음)
+ * - 감시 대상 컬럼(member.username 등)을 인덱스 없이 전체 스캔하면 인덱스 생성 DDL 을 함께 남김
+ * - 느린 SQL 과 EXPLAIN 결과는 "slow-query" 로거로 (logback-spring.xml 에서 별도 롤링 파일)
+ */
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("slow-query");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExplainPlanAnalyzer analyzer;
+    private final int maxShapes;
+    private final Map<String, SlowQueryShape> shapes = new ConcurrentHashMap<>();
+    private final AtomicLong droppedCount = new AtomicLong(); // maxShapes 를 넘어 모양별로 모으지 못한 느린 SQL 수
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryLog(JdbcTemplate jdbcTemplate, Collection<String> watchedColumns, int maxShapes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyzer = new ExplainPlanAnalyzer(watchedColumns);
+        this.maxShapes = maxShapes;
+        // EXPLAIN 이 밀리면 버림 (모양마다 한번이므로 다음에 다시 오지 않음, 관리 화면에는 plan 없이 표시)
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public void record(SqlTraceEntry entry) {
+        if (entry.getSql() == null) {
+            return;
+        }
+        String shape = SqlStatementCounter.shapeOf(entry.getSql());
+        SlowQueryShape slowQuery = shapes.get(shape);
+        if (slowQuery == null) {
+            if (shapes.size() >= maxShapes) {
+                droppedCount.incrementAndGet();
+                slowQueryLog.warn("slow {}us (모양 {}개 초과로 집계 안함) {}", entry.getDurationMicros(), maxShapes, shape);
+                return;
+            }
+            SlowQueryShape created = new SlowQueryShape(shape, entry.getType());
+            slowQuery = shapes.putIfAbsent(shape, created);
+            if (slowQuery == null) {
+                slowQuery = created;
+                explainInBackground(created);
+            }
+        }
+        slowQuery.record(entry);
+        slowQueryLog.warn("slow {}us repository={} args={} sql={}", entry.getDurationMicros(), entry.getRepositoryMethod(),
+                entry.getParameters(), shape);
+    }
+
+    private void explainInBackground(SlowQueryShape slowQuery) {
+        SqlStatementType type = slowQuery.getType();
+        if (type != SqlStatementType.SELECT && type != SqlStatementType.UPDATE && type != SqlStatementType.DELETE) {
+            return; // insert 는 인덱스로 빨라지지 않음
+        }
+        explainExecutor.execute(() -> explain(slowQuery));
+    }
+
+    // 파라미터(?)는 바인딩하지 않아도 H2 가 EXPLAIN 해줌
+    void explain(SlowQueryShape slowQuery) {
+        try {
+            String plan = String.join("\n", jdbcTemplate.queryForList("explain " + slowQuery.getShape(), String.class));
+            List<String> fullScans = analyzer.fullScans(plan);
+            List<String> indexAdvice = fullScans.stream().map(ExplainPlanAnalyzer::indexAdvice).collect(Collectors.toList());
+            slowQuery.explained(plan, fullScans, indexAdvice);
+            if (fullScans.isEmpty()) {
+                slowQueryLog.info("explain {}\n{}", slowQuery.getShape(), plan);
+            } else {
+                slowQueryLog.warn("explain 전체 스캔 {} -> {}\n{}\n{}", fullScans, indexAdvice, slowQuery.getShape(), plan);
+            }
+        } catch (RuntimeException e) {
+            log.debug("EXPLAIN 실패: {}", slowQuery.getShape(), e);
+            slowQuery.explained("EXPLAIN 실패: " + e.getMessage(), List.of(), List.of());
+        }
+    }
+
+    // 전체 소요시간이 큰 순서
+    public List<SlowQueryShape> getShapes(int limit) {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(SlowQueryShape::getTotalMicros).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public SlowQueryShape getShape(String shape) {
+        return shapes.get(shape);
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getMaxShapes() {
+        return maxShapes;
+    }
+
+    public void clear() {
+        shapes.clear();
+        droppedCount.set(0);
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.study.datajpa.monitoring.slowquery;
+
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import com.study.datajpa.monitoring.trace.SqlTraceEntry;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 같은 모양(파라미터, in 절 개수만 다른)의 느린 SQL 통계 + EXPLAIN 결과 (모양마다 한번만 EXPLAIN)
+ */
+@Getter
+public class SlowQueryShape {
+
+    private final String shape;
+    private final SqlStatementType type;
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+    private Instant lastSeenAt;
+    private String lastRepositoryMethod; // 재현용 : 마지막으로 느렸던 호출의 repository 메소드와 인자
+    private String lastParameters;
+
+    private volatile String plan;               // EXPLAIN 전이면 null
+    private volatile List<String> fullScans = Collections.emptyList(); // 전체 스캔된 감시 대상 컬럼
+    private volatile List<String> indexAdvice = Collections.emptyList();
+
+    SlowQueryShape(String shape, SqlStatementType type) {
+        this.shape = shape;
+        this.type = type;
+    }
+
+    synchronized void record(SqlTraceEntry entry) {
+        count++;
+        totalMicros += entry.getDurationMicros();
+        maxMicros = Math.max(maxMicros, entry.getDurationMicros());
+        lastSeenAt = entry.getStartedAt();
+        if (entry.getRepositoryMethod() != null) {
+            lastRepositoryMethod = entry.getRepositoryMethod();
+            lastParameters = entry.getParameters();
+        }
+    }
+
+    void explained(String plan, List<String> fullScans, List<String> indexAdvice) {
+        this.fullScans = fullScans;
+        this.indexAdvice = indexAdvice;
+        this.plan = plan;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public synchronized long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public synchronized Instant getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public synchronized String getLastRepositoryMethod() {
+        return lastRepositoryMethod;
+    }
+
+    public synchronized String getLastParameters() {
+        return lastParameters;
+    }
+}
@@ -0,0 +1,36 @@
+package com.study.datajpa.monitoring.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * repository 메소드 실행 중에 나간 SQL 을 "MemberRepository.findAll" 처럼 메소드 이름으로 기록
+ * (SQL 을 세는 중이 아니면 바로 실행)
+ */
+class RepositoryMethodInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    RepositoryMethodInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!SqlStatementCounter.isActive()) {
+            return invocation.proceed();
+        }
+        String name = names.computeIfAbsent(invocation.getMethod(), method -> repositoryName + "." + method.getName());
+        String previous = SqlStatementCounter.enterRepositoryMethod(name);
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlStatementCounter.exitRepositoryMethod(previous);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.study.datajpa.monitoring.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP 요청마다 SQL 개수를 세고 N+1 이 의심되면 경고 로그
+ *
+ * responseHeaders=true (dev 프로파일) 이면 응답 헤더로도 노출
+ * - X-Sql-Count : 전체 SQL 개수
+ * - X-Sql-Count-By-Type : select=2, insert=1 ...
+ * - X-Sql-N-Plus-One : N+1 이 의심되는 select 모양 개수
+ * 헤더는 응답 바디보다 먼저 나가야 하므로 바디를 버퍼에 모았다가 보냄 (내보내기 같은 스트리밍 응답도 버퍼링됨)
+ *
+ * 비동기 요청(CompletableFuture 반환 등)은 처음 dispatch 와 async dispatch 의 SQL 을 합쳐서 async dispatch 가 끝날 때 기록
+ * 요청 스레드에서 실행된 SQL 만 세므로 repositoryTaskExecutor 등 다른 스레드에서 실행된 @Async 조회의 SQL 은 포함되지 않음
+ * (SqlStatementCounter 는 ThreadLocal 범위)
+ */
+@Slf4j
+public class SqlCountFilter extends OncePerRequestFilter {
+
+    static final String HEADER_COUNT = "X-Sql-Count";
+    static final String HEADER_COUNT_BY_TYPE = "X-Sql-Count-By-Type";
+    static final String HEADER_N_PLUS_ONE = "X-Sql-N-Plus-One";
+    private static final String STATS_ATTRIBUTE = SqlCountFilter.class.getName() + ".STATS";
+
+    private final boolean responseHeaders;
+    private final int nPlusOneThreshold;
+
+    public SqlCountFilter(boolean responseHeaders, int nPlusOneThreshold) {
+        this.responseHeaders = responseHeaders;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    // 비동기 요청은 결과를 async dispatch 에서 쓰므로 그때도 필터를 거쳐야 헤더와 버퍼에 모은 바디를 보낼 수 있음
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // 같은 요청의 dispatch 끼리는 통계와 wrapper 를 이어서 사용 (dispatch 마다 스레드가 다를 수 있으므로 통계는 request attribute 에)
+        SqlStatementStats stats = (SqlStatementStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = new SqlStatementStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        ContentCachingResponseWrapper wrapper = null;
+        if (responseHeaders) {
+            wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (wrapper == null) {
+                wrapper = new ContentCachingResponseWrapper(response);
+            }
+        }
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(stats)) {
+            try {
+                filterChain.doFilter(request, wrapper != null ? wrapper : response);
+            } finally {
+                // 비동기 처리가 시작됐으면 응답은 async dispatch 가 끝날 때 (ShallowEtagHeaderFilter 와 같은 방식)
+                if (!isAsyncStarted(request)) {
+                    complete(request, wrapper, scope.getStats());
+                }
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, ContentCachingResponseWrapper wrapper, SqlStatementStats stats) throws IOException {
+        Map<String, Integer> suspects = stats.getSuspectedNPlusOne(nPlusOneThreshold);
+        if (!suspects.isEmpty()) {
+            log.warn("N+1 의심: {} {} sql={} byRepositoryMethod={} repeatedSelects={}",
+                    request.getMethod(), request.getRequestURI(), stats.getTotal(), stats.getByRepositoryMethod(), suspects);
+        }
+        if (wrapper != null) {
+            writeHeaders(wrapper, stats, suspects.size());
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, SqlStatementStats stats, int suspects) {
+        response.setHeader(HEADER_COUNT, String.valueOf(stats.getTotal()));
+        response.setHeader(HEADER_COUNT_BY_TYPE, stats.getByType().entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase() + "=" + entry.getValue())
+                .collect(Collectors.joining(", ")));
+        response.setHeader(HEADER_N_PLUS_ONE, String.valueOf(suspects));
+    }
+}
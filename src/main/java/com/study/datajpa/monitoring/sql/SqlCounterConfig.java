@@ -0,0 +1,39 @@
+package com.study.datajpa.monitoring.sql;
+
+import com.study.datajpa.monitoring.RepositoryInterceptorPostProcessor;
+import com.study.datajpa.monitoring.StatementInspectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 개수 세기 설정 (datajpa.sql-counter.enabled=true 일 때만, 기본은 dev 프로파일에서만 켬)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.sql-counter.enabled", havingValue = "true")
+public class SqlCounterConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCountingStatementInspector() {
+        return properties -> StatementInspectors.append(properties, new SqlCountingStatementInspector());
+    }
+
+    // 모든 repository 프록시에 RepositoryMethodInterceptor 추가
+    @Bean
+    public static RepositoryInterceptorPostProcessor repositoryMethodTracker() {
+        return new RepositoryInterceptorPostProcessor(repositoryInformation ->
+                new RepositoryMethodInterceptor(repositoryInformation.getRepositoryInterface()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlCountFilter> sqlCountFilter(
+            @Value("${datajpa.sql-counter.response-headers:false}") boolean responseHeaders,
+            @Value("${datajpa.sql-counter.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        FilterRegistrationBean<SqlCountFilter> registration = new FilterRegistrationBean<>(new SqlCountFilter(responseHeaders, nPlusOneThreshold));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,16 @@
+package com.study.datajpa.monitoring.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 PreparedStatement 를 만들 때마다 호출됨 -> SqlStatementCounter 에 기록
+ * (JDBC batch 는 batch 하나가 1건, 2차 캐시 / 쿼리 캐시 hit 은 SQL 이 없으므로 0건)
+ */
+public class SqlCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
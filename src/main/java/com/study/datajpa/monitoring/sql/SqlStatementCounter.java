@@ -0,0 +1,106 @@
+package com.study.datajpa.monitoring.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * 현재 스레드에서 Hibernate 가 실행하는 SQL 개수를 셈 (SqlCountingStatementInspector 가 record 호출)
+ *
+ * <pre>
+ * try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+ *     memberController.pageList(...);
+ *     assertThat(scope.getStats().getTotal()).isLessThanOrEqualTo(2);
+ * }
+ * </pre>
+ *
+ * - 열린 범위가 없으면 아무것도 기록하지 않음
+ * - 범위는 중첩 가능하고 안쪽 범위의 SQL 은 바깥 범위에도 기록됨
+ * - 다른 스레드에서 실행된 SQL(ASYNC count, repositoryTaskExecutor 에서 실행한 @Async 조회 등)은 포함되지 않음
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope open() {
+        return open(new SqlStatementStats());
+    }
+
+    /**
+     * 이미 있는 통계에 이어서 기록 (비동기 요청처럼 같은 요청이 다른 스레드에서 이어지는 경우)
+     */
+    static Scope open(SqlStatementStats stats) {
+        Scope scope = new Scope(CURRENT.get(), stats);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        SqlStatementType type = SqlStatementType.of(sql);
+        String shape = type == SqlStatementType.SELECT ? shapeOf(sql) : null;
+        String repositoryMethod = REPOSITORY_METHOD.get();
+        for (Scope s = scope; s != null; s = s.parent) {
+            s.stats.record(type, shape, repositoryMethod);
+        }
+    }
+
+    /**
+     * @return 이전 repository 메소드 (exitRepositoryMethod 에 넘겨서 복원)
+     */
+    static String enterRepositoryMethod(String repositoryMethod) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(repositoryMethod);
+        return previous;
+    }
+
+    static void exitRepositoryMethod(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+    // 파라미터는 이미 ? 이므로 공백과 in (?, ?, ...) 개수 차이만 정규화 (SlowQueryLog 도 같은 모양으로 묶음)
+    public static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final SqlStatementStats stats;
+
+        private Scope(Scope parent, SqlStatementStats stats) {
+            this.parent = parent;
+            this.stats = stats;
+        }
+
+        public SqlStatementStats getStats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.study.datajpa.monitoring.sql;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 하나의 범위(HTTP 요청, 테스트 등)에서 실행된 SQL 통계
+ * - 종류별(select/insert/update/delete) 개수
+ * - SQL 을 실행한 repository 메소드별 개수 (repository 밖에서 실행된 지연 로딩 등은 OUTSIDE_REPOSITORY)
+ * - 모양(파라미터 제외 SQL)이 같은 select 반복 횟수 -> N+1 의심
+ */
+public class SqlStatementStats {
+
+    public static final String OUTSIDE_REPOSITORY = "(outside repository)";
+
+    private final Map<SqlStatementType, Integer> byType = new EnumMap<>(SqlStatementType.class);
+    private final Map<String, Integer> byRepositoryMethod = new LinkedHashMap<>();
+    private final Map<String, Integer> selectShapes = new LinkedHashMap<>();
+    private int total;
+
+    void record(SqlStatementType type, String selectShape, String repositoryMethod) {
+        total++;
+        byType.merge(type, 1, Integer::sum);
+        byRepositoryMethod.merge(repositoryMethod == null ? OUTSIDE_REPOSITORY : repositoryMethod, 1, Integer::sum);
+        if (selectShape != null) {
+            selectShapes.merge(selectShape, 1, Integer::sum);
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getCount(SqlStatementType type) {
+        return byType.getOrDefault(type, 0);
+    }
+
+    public Map<SqlStatementType, Integer> getByType() {
+        return Collections.unmodifiableMap(byType);
+    }
+
+    public Map<String, Integer> getByRepositoryMethod() {
+        return Collections.unmodifiableMap(byRepositoryMethod);
+    }
+
+    /**
+     * 같은 모양의 select 가 threshold 번 이상 실행되었으면 N+1 의심 (SQL 모양 -> 실행 횟수)
+     */
+    public Map<String, Integer> getSuspectedNPlusOne(int threshold) {
+        Map<String, Integer> suspects = new LinkedHashMap<>();
+        selectShapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                suspects.put(shape, count);
+            }
+        });
+        return suspects;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatementStats{total=" + total + ", byType=" + byType + ", byRepositoryMethod=" + byRepositoryMethod + '}';
+    }
+}
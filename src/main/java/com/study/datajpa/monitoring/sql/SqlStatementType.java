@@ -0,0 +1,30 @@
+package com.study.datajpa.monitoring.sql;
+
+public enum SqlStatementType {
+
+    SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+    public static SqlStatementType of(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (startsWith(sql, start, "select") || startsWith(sql, start, "with")) {
+            return SELECT;
+        }
+        if (startsWith(sql, start, "insert")) {
+            return INSERT;
+        }
+        if (startsWith(sql, start, "update")) {
+            return UPDATE;
+        }
+        if (startsWith(sql, start, "delete")) {
+            return DELETE;
+        }
+        return OTHER; // call next value for ..., merge 등
+    }
+
+    private static boolean startsWith(String sql, int offset, String keyword) {
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+}
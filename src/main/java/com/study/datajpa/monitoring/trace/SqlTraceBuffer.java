@@ -0,0 +1,49 @@
+package com.study.datajpa.monitoring.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 capacity 건만 남기는 링 버퍼 (락 없이 여러 스레드에서 기록, 가득 차면 오래된 것부터 덮어씀)
+ */
+class SqlTraceBuffer {
+
+    private final AtomicReferenceArray<SqlTraceEntry> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    SqlTraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1; // 2의 제곱수로 올림 (나머지 대신 & 연산)
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(SqlTraceEntry entry) {
+        slots.set((int) (sequence.getAndIncrement() & mask), entry);
+    }
+
+    // 지금까지 기록된 건수 (덮어쓴 것 포함)
+    long getRecorded() {
+        return sequence.get();
+    }
+
+    int getCapacity() {
+        return slots.length();
+    }
+
+    // 최근 것부터 최대 limit 건 (기록 중인 슬롯은 이전 값이 보일 수 있음)
+    List<SqlTraceEntry> recent(int limit) {
+        long last = sequence.get() - 1;
+        int count = (int) Math.min(Math.min(limit, slots.length()), last + 1);
+        List<SqlTraceEntry> entries = new ArrayList<>(Math.max(count, 0));
+        for (long seq = last; seq > last - count; seq--) {
+            SqlTraceEntry entry = slots.get((int) (seq & mask));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
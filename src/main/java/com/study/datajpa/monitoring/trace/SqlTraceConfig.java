@@ -0,0 +1,44 @@
+package com.study.datajpa.monitoring.trace;
+
+import com.study.datajpa.monitoring.RepositoryInterceptorPostProcessor;
+import com.study.datajpa.monitoring.StatementInspectors;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 샘플링 SQL 추적 설정 (datajpa.sql-trace.enabled=false 로 끌 수 있음, 조회: /admin/sql-trace)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.sql-trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTraceConfig {
+
+    @Bean // 컨텍스트 종료시 close() 로 설치 해제
+    public SqlTracer sqlTracer(@Value("${datajpa.sql-trace.sample-rate:0.01}") double sampleRate,
+                               @Value("${datajpa.sql-trace.slow-threshold:100ms}") Duration slowThreshold,
+                               @Value("${datajpa.sql-trace.buffer-size:1024}") int bufferSize) {
+        SqlTracer tracer = new SqlTracer(sampleRate, slowThreshold, bufferSize);
+        SqlTracer.install(tracer);
+        return tracer;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlTraceHibernateProperties(SqlTracer sqlTracer) { // tracer 를 먼저 설치
+        return properties -> {
+            StatementInspectors.append(properties, new SqlTracingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTraceSessionListener.class.getName());
+        };
+    }
+
+    // 느린 SQL 에 repository 메소드와 인자를 남기도록 모든 repository 프록시에 추가
+    @Bean
+    public static RepositoryInterceptorPostProcessor sqlTraceRepositoryTracker() {
+        return new RepositoryInterceptorPostProcessor(repositoryInformation ->
+                new SqlTraceRepositoryInterceptor(repositoryInformation.getRepositoryInterface()));
+    }
+}
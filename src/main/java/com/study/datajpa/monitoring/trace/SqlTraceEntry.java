@@ -0,0 +1,37 @@
+package com.study.datajpa.monitoring.trace;
+
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 추적된 SQL 한건 (SQL 은 Hibernate 가 만든 문자열을 그대로 참조)
+ * 파라미터는 JDBC 바인딩 값이 아니라 SQL 을 실행한 repository 메소드의 인자 (느린 SQL 만)
+ */
+@Getter
+public class SqlTraceEntry {
+
+    private final String sql;
+    private final SqlStatementType type;
+    private final Instant startedAt;
+    private final long durationMicros;
+    private final boolean batch;
+    private final boolean slow;
+    private final String thread;
+    private final String repositoryMethod; // repository 밖에서 실행된 SQL 이면 null
+    private final String parameters;
+
+    public SqlTraceEntry(String sql, long startEpochMillis, long durationNanos, boolean batch, boolean slow, String thread,
+                         String repositoryMethod, String parameters) {
+        this.sql = sql;
+        this.type = sql == null ? SqlStatementType.OTHER : SqlStatementType.of(sql);
+        this.startedAt = Instant.ofEpochMilli(startEpochMillis);
+        this.durationMicros = durationNanos / 1_000;
+        this.batch = batch;
+        this.slow = slow;
+        this.thread = thread;
+        this.repositoryMethod = repositoryMethod;
+        this.parameters = parameters;
+    }
+}
@@ -0,0 +1,29 @@
+package com.study.datajpa.monitoring.trace;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * repository 메소드 실행 중인 동안 메소드와 인자를 SqlTracer 에 알려줌 (느린 SQL 을 다시 재현할 수 있도록)
+ * 참조만 저장하므로 할당 없음, 문자열은 SQL 이 기록될 때만 만듦
+ */
+class SqlTraceRepositoryInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+
+    SqlTraceRepositoryInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previousRepository = SqlTracer.currentRepository();
+        MethodInvocation previousInvocation = SqlTracer.currentInvocation();
+        SqlTracer.enterRepository(repositoryName, invocation);
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlTracer.exitRepository(previousRepository, previousInvocation);
+        }
+    }
+}
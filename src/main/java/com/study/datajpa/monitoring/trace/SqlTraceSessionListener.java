@@ -0,0 +1,39 @@
+package com.study.datajpa.monitoring.trace;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * JDBC 실행(쿼리, JDBC batch) 시작 ~ 끝 시간을 재서 SqlTracer 에 넘김
+ * hibernate.session.events.auto 로 등록 -> 하이버네이트가 세션마다 생성 (세션은 한 스레드에서만 사용)
+ */
+public class SqlTraceSessionListener extends BaseSessionEventListener {
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        completed(false);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        completed(true);
+    }
+
+    private void completed(boolean batch) {
+        SqlTracer tracer = SqlTracer.current();
+        if (tracer != null) {
+            tracer.completed(SqlTracingStatementInspector.lastSql(), System.nanoTime() - startNanos, batch);
+        }
+    }
+}
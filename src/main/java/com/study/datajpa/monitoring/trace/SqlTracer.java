@@ -0,0 +1,145 @@
+package com.study.datajpa.monitoring.trace;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 샘플링 SQL 추적 (p6spy 처럼 모든 JDBC 호출을 감싸서 로그를 남기지 않음)
+ *
+ * - sampleRate 비율의 SQL 만 최근 기록(recent)에 남김
+ * - slowThreshold 이상 걸린 SQL 은 샘플링과 상관없이 느린 SQL 기록(slow)에도 남김
+ * - 남기지 않는 SQL 은 System.nanoTime() 2번 + 난수 1번만 (문자열 조립 / 객체 할당 없음)
+ * - 느린 SQL 은 실행 중이던 repository 메소드와 파라미터도 남기고 slow 리스너(SlowQueryLog 등)에 전달
+ *
+ * SqlTraceSessionListener 는 하이버네이트가 세션마다 직접 생성하므로 static 으로 현재 tracer 를 찾음
+ */
+@Slf4j
+public class SqlTracer {
+
+    private static final int MAX_PARAMETERS_LENGTH = 1000;
+
+    private static volatile SqlTracer current;
+    private static final ThreadLocal<String> REPOSITORY = new ThreadLocal<>();
+    private static final ThreadLocal<MethodInvocation> INVOCATION = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final SqlTraceBuffer recent;
+    private final SqlTraceBuffer slow;
+    private final List<Consumer<SqlTraceEntry>> slowListeners = new CopyOnWriteArrayList<>();
+
+    public SqlTracer(double sampleRate, Duration slowThreshold, int bufferSize) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate 는 0 ~ 1 사이여야 합니다: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.recent = new SqlTraceBuffer(bufferSize);
+        this.slow = new SqlTraceBuffer(bufferSize);
+    }
+
+    static SqlTracer current() {
+        return current;
+    }
+
+    // 하이버네이트 세션 리스너가 사용할 tracer 지정 (null 이면 추적 안함)
+    public static void install(SqlTracer tracer) {
+        current = tracer;
+    }
+
+    // 느린 SQL 이 기록될 때마다 SQL 을 실행한 스레드에서 호출 (오래 걸리는 일은 다른 스레드로 넘길 것)
+    public void addSlowStatementListener(Consumer<SqlTraceEntry> listener) {
+        slowListeners.add(listener);
+    }
+
+    // SqlTraceRepositoryInterceptor 가 repository 메소드 실행 전후로 호출 (참조만 저장)
+    static void enterRepository(String repositoryName, MethodInvocation invocation) {
+        REPOSITORY.set(repositoryName);
+        INVOCATION.set(invocation);
+    }
+
+    static void exitRepository(String previousRepositoryName, MethodInvocation previousInvocation) {
+        REPOSITORY.set(previousRepositoryName);
+        INVOCATION.set(previousInvocation);
+    }
+
+    static String currentRepository() {
+        return REPOSITORY.get();
+    }
+
+    static MethodInvocation currentInvocation() {
+        return INVOCATION.get();
+    }
+
+    // 이 tracer 가 설치되어 있으면 해제
+    public void close() {
+        if (current == this) {
+            current = null;
+        }
+    }
+
+    void completed(String sql, long durationNanos, boolean batch) {
+        boolean isSlow = durationNanos >= slowThresholdNanos;
+        boolean sampled = sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        if (!isSlow && !sampled) {
+            return; // 대부분 여기서 끝남
+        }
+        long startEpochMillis = System.currentTimeMillis() - durationNanos / 1_000_000;
+        MethodInvocation invocation = INVOCATION.get();
+        String repositoryMethod = invocation == null ? null : REPOSITORY.get() + "." + invocation.getMethod().getName();
+        String parameters = isSlow && invocation != null ? parametersOf(invocation) : null; // 파라미터 값은 느린 SQL 만
+        SqlTraceEntry entry = new SqlTraceEntry(sql, startEpochMillis, durationNanos, batch, isSlow,
+                Thread.currentThread().getName(), repositoryMethod, parameters);
+        recent.add(entry);
+        if (isSlow) {
+            slow.add(entry);
+            for (Consumer<SqlTraceEntry> listener : slowListeners) {
+                try {
+                    listener.accept(entry);
+                } catch (RuntimeException e) { // 모니터링 때문에 SQL 실행이 실패하지 않도록
+                    log.warn("느린 SQL 리스너 실패", e);
+                }
+            }
+        }
+    }
+
+    private static String parametersOf(MethodInvocation invocation) {
+        String parameters = Arrays.deepToString(invocation.getArguments());
+        return parameters.length() <= MAX_PARAMETERS_LENGTH ? parameters : parameters.substring(0, MAX_PARAMETERS_LENGTH) + "...";
+    }
+
+    public List<SqlTraceEntry> getRecent(int limit) {
+        return recent.recent(limit);
+    }
+
+    public List<SqlTraceEntry> getSlow(int limit) {
+        return slow.recent(limit);
+    }
+
+    public long getRecordedCount() {
+        return recent.getRecorded();
+    }
+
+    public long getSlowCount() {
+        return slow.getRecorded();
+    }
+
+    public int getBufferSize() {
+        return recent.getCapacity();
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return Duration.ofNanos(slowThresholdNanos);
+    }
+}
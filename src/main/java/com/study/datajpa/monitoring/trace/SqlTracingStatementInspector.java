@@ -0,0 +1,22 @@
+package com.study.datajpa.monitoring.trace;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 실행 시간은 SqlTraceSessionListener 가 재고, SQL 은 여기서 스레드마다 마지막으로 준비된 것을 기억
+ * (참조만 저장하므로 할당 없음)
+ */
+public class SqlTracingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LAST_SQL.set(sql);
+        return sql;
+    }
+
+    static String lastSql() {
+        return LAST_SQL.get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.entity.ChangeType;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 벌크 수정 / 삭제를 BULK_UPDATE 이벤트로 기록
+ * 벌크 연산은 엔티티 이벤트가 발생하지 않으므로 어떤 수정인지(메소드, 파라미터)와 수정된 row 수를 남김
+ * payload 예) {"operation":"bulkAgePlus","args":[20],"rows":3}
+ */
+public class BulkChangeRecorder {
+
+    private final Set<String> aggregateTypes;
+    private final OutboxRecorder recorder;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public BulkChangeRecorder(Set<String> aggregateTypes, OutboxRecorder recorder, EntityManagerFactory emf,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.aggregateTypes = aggregateTypes;
+        this.recorder = recorder;
+        this.emf = emf;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    // 현재 트랜잭션에 기록 (수정과 같은 트랜잭션에서 호출해야 함)
+    public void record(String aggregateType, String operation, List<?> args, Integer rows) {
+        if (!aggregateTypes.contains(aggregateType)) {
+            return;
+        }
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        if (em == null) {
+            throw new IllegalStateException("벌크 수정 이벤트는 트랜잭션 안에서 기록해야 합니다");
+        }
+        recorder.record(em.unwrap(SessionImplementor.class), aggregateType, null,
+                ChangeType.BULK_UPDATE, payload(operation, args, rows));
+    }
+
+    // repository advice 는 repository 트랜잭션 바깥이므로 트랜잭션을 열어서 수정과 기록을 같이 커밋 (이미 있으면 참여)
+    Object invokeAndRecord(String aggregateType, MethodInvocation invocation) throws Throwable {
+        try {
+            return transactionTemplate.execute(status -> {
+                Object result = proceed(invocation);
+                record(aggregateType, invocation.getMethod().getName(), Arrays.asList(invocation.getArguments()),
+                        result instanceof Number ? ((Number) result).intValue() : null);
+                return result;
+            });
+        } catch (InvocationFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private String payload(String operation, List<?> args, Integer rows) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("operation", operation);
+        payload.put("args", args.stream().map(BulkChangeRecorder::jsonSafe).collect(Collectors.toList()));
+        payload.put("rows", rows);
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 엔티티 등은 직렬화하다 지연 로딩 / 순환참조가 생길 수 있으므로 문자열로
+    private static Object jsonSafe(Object arg) {
+        if (arg == null || arg instanceof Number || arg instanceof String || arg instanceof Boolean) {
+            return arg;
+        }
+        return String.valueOf(arg);
+    }
+
+    private static Object proceed(MethodInvocation invocation) {
+        try {
+            return invocation.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationFailure(e);
+        }
+    }
+
+    // 체크 예외를 TransactionTemplate 밖으로 전달 (롤백시키고 원래 예외로 던짐)
+    private static class InvocationFailure extends RuntimeException {
+        InvocationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
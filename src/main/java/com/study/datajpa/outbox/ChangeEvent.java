@@ -0,0 +1,33 @@
+package com.study.datajpa.outbox;
+
+import com.study.datajpa.entity.ChangeType;
+import com.study.datajpa.entity.OutboxEvent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * sink 로 보내는 변경 이벤트 (id 는 outbox id 이므로 소비자가 중복 제거에 사용 가능)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JSON 역직렬화
+public class ChangeEvent {
+
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private ChangeType changeType;
+    private String payload;
+    private LocalDateTime occurredAt;
+
+    public static ChangeEvent from(OutboxEvent event) {
+        return new ChangeEvent(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getChangeType(), event.getPayload(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이벤트를 한 줄에 하나씩(JSON Lines) 파일 끝에 추가 (로컬 / 테스트용 sink)
+ * 소비자는 OutboxCursor 로 읽은 위치부터 이어서 읽음
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> events) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // batch 전체를 한번에 쓰므로 소비자는 줄 단위로 끊어 읽으면 됨 (마지막 줄바꿈이 없는 줄은 아직 쓰는 중)
+        StringBuilder lines = new StringBuilder();
+        for (ChangeEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            writer.write(lines.toString());
+        }
+    }
+}
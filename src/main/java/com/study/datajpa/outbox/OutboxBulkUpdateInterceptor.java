@@ -0,0 +1,29 @@
+package com.study.datajpa.outbox;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.jpa.repository.Modifying;
+
+/**
+ * repository 의 @Modifying(벌크 수정 / 삭제) 메소드 실행을 BULK_UPDATE 이벤트로 기록
+ * (repository 는 BulkChangeRecorder 보다 먼저 만들어지므로 처음 호출될 때 가져옴)
+ */
+class OutboxBulkUpdateInterceptor implements MethodInterceptor {
+
+    private final String aggregateType;
+    private final ObjectProvider<BulkChangeRecorder> bulkChangeRecorder;
+
+    OutboxBulkUpdateInterceptor(String aggregateType, ObjectProvider<BulkChangeRecorder> bulkChangeRecorder) {
+        this.aggregateType = aggregateType;
+        this.bulkChangeRecorder = bulkChangeRecorder;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!invocation.getMethod().isAnnotationPresent(Modifying.class)) {
+            return invocation.proceed();
+        }
+        return bulkChangeRecorder.getObject().invokeAndRecord(aggregateType, invocation);
+    }
+}
@@ -0,0 +1,90 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.RepositoryInterceptorPostProcessor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Member, Team 변경을 outbox 테이블에 기록하고 백그라운드로 발행 (datajpa.outbox.enabled=true 일 때만)
+ * 하류 시스템은 테이블을 스캔하는 대신 sink 를 읽음
+ *
+ * 기본 sink 는 없으므로 OutboxSink 빈을 등록하거나 datajpa.outbox.file-sink.path 를 설정해야 함
+ * (파일 sink 는 dev 프로파일 / 테스트용, OutboxCursor 로 이어서 읽음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    static final Set<Class<?>> ENTITY_TYPES = Set.of(Member.class, Team.class);
+
+    @Bean
+    public OutboxRecorder outboxRecorder(AuditContext auditContext) {
+        return new OutboxRecorder(auditContext);
+    }
+
+    // 하이버네이트 post insert / update / delete 이벤트 리스너 등록
+    @Bean
+    public OutboxEntityListener outboxEntityListener(EntityManagerFactory emf, OutboxRecorder outboxRecorder, ObjectMapper objectMapper) {
+        OutboxEntityListener listener = new OutboxEntityListener(ENTITY_TYPES, outboxRecorder, objectMapper);
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImpl.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        return listener;
+    }
+
+    @Bean
+    public BulkChangeRecorder bulkChangeRecorder(OutboxRecorder outboxRecorder, EntityManagerFactory emf,
+                                                 PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        Set<String> aggregateTypes = ENTITY_TYPES.stream().map(Class::getSimpleName).collect(Collectors.toSet());
+        return new BulkChangeRecorder(aggregateTypes, outboxRecorder, emf, transactionManager, objectMapper);
+    }
+
+    // Member, Team repository 의 @Modifying 메소드를 BULK_UPDATE 로 기록
+    @Bean
+    public static RepositoryInterceptorPostProcessor outboxBulkUpdatePostProcessor(ObjectProvider<BulkChangeRecorder> bulkChangeRecorder) {
+        return new RepositoryInterceptorPostProcessor(repositoryInformation -> {
+            Class<?> domainType = repositoryInformation.getDomainType();
+            return ENTITY_TYPES.contains(domainType)
+                    ? new OutboxBulkUpdateInterceptor(domainType.getSimpleName(), bulkChangeRecorder)
+                    : null;
+        });
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    @ConditionalOnProperty(name = "datajpa.outbox.file-sink.path")
+    public FileOutboxSink fileOutboxSink(@Value("${datajpa.outbox.file-sink.path}") String path,
+                                         ObjectMapper objectMapper) {
+        return new FileOutboxSink(Paths.get(path), objectMapper);
+    }
+
+    @Bean
+    public OutboxPublisher outboxPublisher(EntityManager em, PlatformTransactionManager transactionManager, OutboxSink outboxSink,
+                                           AuditContext auditContext,
+                                           @Value("${datajpa.outbox.batch-size:500}") int batchSize,
+                                           @Value("${datajpa.outbox.poll-interval:1s}") Duration pollInterval,
+                                           @Value("${datajpa.outbox.retention:7d}") Duration retention,
+                                           @Value("${datajpa.outbox.purge-interval:10m}") Duration purgeInterval) {
+        return new OutboxPublisher(em, transactionManager, outboxSink, auditContext, batchSize, pollInterval, retention, purgeInterval);
+    }
+}
@@ -0,0 +1,75 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FileOutboxSink 파일을 마지막으로 읽은 위치(byte offset)부터 이어서 읽는 소비자용 커서
+ * 테이블을 매번 스캔하는 대신 position 만 저장해두고 새로 추가된 이벤트만 읽음
+ *
+ * 발행은 at-least-once 이므로 같은 이벤트(id)가 두번 올 수 있음 -> 소비자가 id 로 중복 제거
+ */
+public class OutboxCursor {
+
+    private static final int READ_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private long position;
+
+    public OutboxCursor(Path path, ObjectMapper objectMapper, long position) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.position = position;
+    }
+
+    // 다음에 이어서 읽을 위치 (소비자가 저장)
+    public long getPosition() {
+        return position;
+    }
+
+    // 새로 추가된 이벤트를 최대 maxEvents 개 (줄바꿈으로 끝나지 않은 마지막 줄은 다음에 읽음)
+    public List<ChangeEvent> poll(int maxEvents) throws IOException {
+        List<ChangeEvent> events = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return events;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+            byte[] line = new byte[256];
+            int lineLength = 0;
+            long readPosition = position;
+            while (events.size() < maxEvents && channel.read(buffer, readPosition) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining() && events.size() < maxEvents) {
+                    byte b = buffer.get();
+                    readPosition++;
+                    if (b != '\n') {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = b;
+                        continue;
+                    }
+                    if (lineLength > 0) {
+                        events.add(objectMapper.readValue(new String(line, 0, lineLength, StandardCharsets.UTF_8), ChangeEvent.class));
+                    }
+                    lineLength = 0;
+                    position = readPosition; // 완성된 줄까지만 전진
+                }
+                buffer.clear();
+            }
+        }
+        return events;
+    }
+}
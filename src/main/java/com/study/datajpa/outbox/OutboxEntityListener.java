@@ -0,0 +1,79 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.entity.ChangeType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 대상 엔티티의 insert / update / delete SQL 이 실행된 뒤 OutboxRecorder 에 기록
+ * (@PrePersist 는 시퀀스 id 가 정해지기 전에 호출되므로 하이버네이트 post 이벤트 사용)
+ */
+public class OutboxEntityListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final Set<Class<?>> entityTypes;
+    private final OutboxRecorder recorder;
+    private final ObjectMapper objectMapper;
+
+    public OutboxEntityListener(Set<Class<?>> entityTypes, OutboxRecorder recorder, ObjectMapper objectMapper) {
+        this.entityTypes = entityTypes;
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (entityTypes.contains(event.getEntity().getClass())) {
+            recorder.record(event.getSession(), event.getEntity().getClass().getSimpleName(), event.getId(), ChangeType.INSERT, null);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (entityTypes.contains(event.getEntity().getClass())) {
+            recorder.record(event.getSession(), event.getEntity().getClass().getSimpleName(), event.getId(), ChangeType.UPDATE,
+                    changedPayload(event.getPersister(), event.getDirtyProperties()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (entityTypes.contains(event.getEntity().getClass())) {
+            recorder.record(event.getSession(), event.getEntity().getClass().getSimpleName(), event.getId(), ChangeType.DELETE, null);
+        }
+    }
+
+    // 커밋 후 처리가 아니라 같은 트랜잭션에서 기록하므로 필요 없음
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    // {"changed":["username","age"]} (merge 등으로 dirty 정보가 없으면 null)
+    private String changedPayload(EntityPersister persister, int[] dirtyProperties) {
+        if (dirtyProperties == null) {
+            return null;
+        }
+        String[] propertyNames = persister.getPropertyNames();
+        List<String> changed = new ArrayList<>(dirtyProperties.length);
+        for (int index : dirtyProperties) {
+            changed.add(propertyNames[index]);
+        }
+        try {
+            return objectMapper.writeValueAsString(Collections.singletonMap("changed", changed));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.study.datajpa.outbox;
+
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 발행되지 않은 outbox 이벤트를 pollInterval 마다 batchSize 건씩 sink 로 보내는 백그라운드 발행기
+ *
+ * - batch 마다 트랜잭션 : select ... for update -> sink.publish -> publishedAt 세팅 후 커밋
+ * - sink 가 실패하면 롤백되어 다음 주기에 다시 보냄 (at-least-once, 소비자는 이벤트 id 로 중복 제거)
+ * - publishedAt 이 없는 것을 찾으므로 늦게 커밋된(id 가 더 작은) 이벤트도 빠지지 않음
+ * - 발행된 이벤트는 retention 동안 남겨뒀다가 purgeInterval 마다 batchSize 건씩 삭제 (테이블이 계속 커지지 않도록)
+ */
+@Slf4j
+public class OutboxPublisher implements SmartLifecycle {
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final AuditContext auditContext;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Duration purgeInterval;
+    private final ReentrantLock drainLock = new ReentrantLock(); // 같은 인스턴스 안에서는 한번에 하나만 발행
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public OutboxPublisher(EntityManager em, PlatformTransactionManager transactionManager, OutboxSink sink,
+                           AuditContext auditContext, int batchSize, Duration pollInterval,
+                           Duration retention, Duration purgeInterval) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.auditContext = auditContext;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.purgeInterval = purgeInterval;
+    }
+
+    // 발행할 이벤트가 없을 때까지 발행하고 발행한 건수 반환
+    public int drainOnce() {
+        drainLock.lock();
+        try {
+            int published = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> publishBatch());
+                published += batch;
+            } while (batch == batchSize);
+            return published;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = em.createQuery("select e from OutboxEvent e where e.publishedAt is null order by e.id", OutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE) // 다른 인스턴스의 발행기와 같은 이벤트를 동시에 보내지 않도록
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(events.stream().map(ChangeEvent::from).collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new IllegalStateException("outbox 이벤트 발행 실패: " + events.get(0) + " 부터 " + events.size() + "건", e);
+        }
+        LocalDateTime now = auditContext.now();
+        events.forEach(event -> event.published(now)); // 커밋시 update batch
+        return events.size();
+    }
+
+    // 발행된 지 retention 이 지난 이벤트를 삭제하고 삭제한 건수 반환
+    public int purgePublished() {
+        LocalDateTime cutoff = auditContext.now().minus(retention);
+        int purged = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> purgeBatch(cutoff));
+            purged += batch;
+        } while (batch == batchSize);
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        // (publishedAt, id) 인덱스 범위로 찾아서 id 로 삭제 (한 트랜잭션에서 지우는 양을 batchSize 로 제한)
+        List<Long> ids = em.createQuery("select e.id from OutboxEvent e where e.publishedAt < :cutoff order by e.publishedAt, e.id", Long.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return em.createQuery("delete from OutboxEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = purgePublished();
+            if (purged > 0) {
+                log.info("발행된 outbox 이벤트 삭제: {}건 (retention={})", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("outbox 이벤트 삭제 실패, 다음 주기에 다시 시도", e);
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drainOnce();
+        } catch (RuntimeException e) {
+            log.warn("outbox 발행 실패, 다음 주기에 다시 시도", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::drainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::purgeQuietly, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        scheduler = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(pollInterval.toMillis() + 5000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
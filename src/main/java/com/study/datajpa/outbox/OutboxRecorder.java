@@ -0,0 +1,84 @@
+package com.study.datajpa.outbox;
+
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.entity.ChangeType;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 변경 이벤트를 세션(트랜잭션)마다 모아뒀다가 커밋 직전(flush 이후)에 같은 커넥션으로 outbox_event 에 batch insert
+ * -> 롤백되면 이벤트도 남지 않고, 엔티티 insert / update 마다 outbox insert 가 끼어들지 않음
+ */
+public class OutboxRecorder {
+
+    static final String INSERT = "insert into outbox_event (aggregate_type, aggregate_id, change_type, payload, occurred_at) values (?, ?, ?, ?, ?)";
+
+    private final AuditContext auditContext;
+    private final Map<SessionImplementor, Buffer> buffers = new ConcurrentHashMap<>();
+
+    public OutboxRecorder(AuditContext auditContext) {
+        this.auditContext = auditContext;
+    }
+
+    public void record(SessionImplementor session, String aggregateType, Object aggregateId,
+                       ChangeType changeType, String payload) {
+        Object[] row = {aggregateType, aggregateId == null ? null : aggregateId.toString(), changeType.name(), payload,
+                Timestamp.valueOf(auditContext.now())};
+        if (!session.isTransactionInProgress()) { // 트랜잭션 밖 flush 는 바로 기록
+            write(session, List.<Object[]>of(row));
+            return;
+        }
+        buffers.computeIfAbsent(session, this::newBuffer).rows.add(row);
+    }
+
+    private Buffer newBuffer(SessionImplementor session) {
+        Buffer buffer = new Buffer();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) buffer);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) buffer);
+        return buffer;
+    }
+
+    private static void write(Session session, List<Object[]> rows) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private class Buffer implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            buffers.remove(session); // 이후 변경(있다면)은 새 버퍼로
+            if (!rows.isEmpty()) {
+                write(session, rows);
+            }
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            // 롤백되면 before 가 실행되지 않고 남아 있으므로 정리 (OSIV 처럼 세션이 다음 트랜잭션에서도 쓰일 때 다시 기록되지 않도록)
+            rows.clear();
+            buffers.remove(session, this);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.study.datajpa.outbox;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트를 내보낼 곳 (메시지 브로커 등으로 교체하려면 이 타입의 빈을 등록)
+ * 예외를 던지면 해당 batch 는 발행되지 않은 것으로 남고 다음 주기에 다시 보냄 (at-least-once)
+ */
+public interface OutboxSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
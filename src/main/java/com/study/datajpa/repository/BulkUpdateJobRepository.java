@@ -0,0 +1,7 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.entity.BulkUpdateJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BulkUpdateJobRepository extends JpaRepository<BulkUpdateJob, String> {
+}
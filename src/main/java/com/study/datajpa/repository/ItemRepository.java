@@ -0,0 +1,7 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.entity.Item;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ItemRepository extends JpaRepository<Item, String>, ItemRepositoryCustom {
+}
@@ -0,0 +1,12 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.dto.UpsertResult;
+import com.study.datajpa.entity.Item;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+    // id 가 있으면 name 수정, 없으면 insert (select 없이 JDBC batch, 영속성 컨텍스트 사용 X)
+    UpsertResult upsertAll(Collection<Item> items);
+}
@@ -0,0 +1,81 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.dto.UpsertResult;
+import com.study.datajpa.entity.Item;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * saveAll() 은 id 를 직접 넣는 엔티티를 건마다 persist(isNew) 또는 merge(select 후 수정)하고 영속성 컨텍스트에 쌓음
+ * upsertAll 은 batchSize 건씩
+ * 1. update ... where id = ? 를 JDBC batch 로 실행 -> 건마다 수정된 row 수(0 / 1)가 돌아옴
+ * 2. 수정된 row 가 없는 건만 insert JDBC batch
+ * 로 select 없이 처리하고, insert / update 건수를 정확히 셀 수 있음 (DB MERGE 는 둘을 구분해서 알려주지 않음)
+ *
+ * - 영속성 컨텍스트를 거치지 않으므로 이미 조회해둔 Item 엔티티에는 반영되지 않음
+ * - 같은 id 를 동시에 upsert 하면 둘 다 insert 하려다 한쪽이 PK 중복 예외 (다시 실행하면 update 로 처리됨)
+ */
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    static final String UPDATE = "update item set name = ?, last_modified_date = ? where id = ?";
+    static final String INSERT = "insert into item (id, name, created_date, last_modified_date) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditContext auditContext;
+    private final int batchSize;
+
+    public ItemRepositoryCustomImpl(JdbcTemplate jdbcTemplate, AuditContext auditContext,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditContext = auditContext;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional // JPA 트랜잭션과 같은 커넥션 사용
+    public UpsertResult upsertAll(Collection<Item> items) {
+        // 같은 id 가 여러 번 있으면 마지막 값만 (둘 다 insert 하면 PK 중복)
+        Map<String, Item> byId = new LinkedHashMap<>();
+        items.forEach(item -> byId.put(item.getId(), item));
+        List<Item> distinctItems = new ArrayList<>(byId.values());
+
+        Timestamp now = Timestamp.valueOf(auditContext.now()); // 엔티티 리스너와 같은 시계
+        long inserted = 0;
+        long updated = 0;
+        for (int from = 0; from < distinctItems.size(); from += batchSize) {
+            List<Item> chunk = distinctItems.subList(from, Math.min(from + batchSize, distinctItems.size()));
+
+            List<Object[]> updates = new ArrayList<>(chunk.size());
+            chunk.forEach(item -> updates.add(new Object[]{item.getName(), now, item.getId()}));
+            int[] updatedRows = jdbcTemplate.batchUpdate(UPDATE, updates);
+
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updatedRows.length; i++) {
+                if (updatedRows[i] == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("JDBC 드라이버가 batch update 의 row 수를 알려주지 않아서 insert 대상을 알 수 없습니다.");
+                }
+                if (updatedRows[i] == 0) {
+                    Item item = chunk.get(i);
+                    inserts.add(new Object[]{item.getId(), item.getName(), now, now});
+                } else {
+                    updated++;
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, inserts);
+                inserted += inserts.size();
+            }
+        }
+        return new UpsertResult(inserted, updated);
+    }
+}
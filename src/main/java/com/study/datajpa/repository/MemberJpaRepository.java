@@ -1,6 +1,10 @@
 package com.study.datajpa.repository;
 
+import com.study.datajpa.audit.AuditContext;
 import com.study.datajpa.entity.Member;
+import com.study.datajpa.outbox.BulkChangeRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -9,8 +13,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
+    private final AuditContext auditContext;
+    private final ObjectProvider<BulkChangeRecorder> bulkChangeRecorder; // outbox 가 꺼져 있으면 없음
+
     @PersistenceContext  // Jpa에서 EntityManager를 injection (주입) 해주는 애노테이션
     private EntityManager em;
 
@@ -65,13 +73,15 @@ public class MemberJpaRepository {
                 .getSingleResult();
     }
 
-    // 벌크성 수정 쿼리
+    // 벌크성 수정 쿼리 (스프링 데이터 repository 가 아니라서 outbox advice 가 없으므로 직접 기록)
     public int bulkAgePlus(int age) {
-        int resultCount = em.createQuery(
-                "update Member m set m.age = m.age + 1" +
-                        "where m.age >= :age")
+        int resultCount = auditContext.stampBulkUpdate(em.createQuery(
+                "update Member m set m.age = m.age + 1, m.version = m.version + 1" + // @Version 도 직접 증가
+                        ", m.lastModifiedDate = :auditNow, m.lastModifiedBy = :auditor" + // 엔티티 리스너를 거치지 않으므로 수정일, 수정자도 직접
+                        " where m.age >= :age"))
                 .setParameter("age", age)
                 .executeUpdate(); // UPDATE!
+        bulkChangeRecorder.ifAvailable(recorder -> recorder.record("Member", "bulkAgePlus", List.of(age), resultCount));
         return resultCount;
     }
 }
@@ -1,5 +1,6 @@
 package com.study.datajpa.repository;
 
+import com.study.datajpa.concurrent.ExecutionModeConfig;
 import com.study.datajpa.dto.MemberDto;
 import com.study.datajpa.entity.Member;
 import com.study.datajpa.repository.projections.UsernameOnly;
@@ -9,16 +10,24 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @Repository 넣지 않아도, interface로 되어만 있으면, 스프링부트가 자동으로 읽고,
  * 알아서 이 인터페이스의 구현첼르 다 만들어줌 (개발자가 구현체 만들지 않아도 됨)
+ *
+ * 스프링 데이터는 상속받은 CRUD 메소드(SimpleJpaRepository)에만 readOnly 트랜잭션을 걸어주므로
+ * 여기 선언한 조회 메소드도 readOnly 로 (라우팅이 켜져 있으면 replica 로), 쓰기 / 락 메소드는 @Transactional 로 덮어씀
+ * (save 등 상속받은 메소드는 SimpleJpaRepository 의 설정이 그대로 적용됨)
  */
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom{
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
@@ -32,10 +41,18 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findUser(@Param("username") String username, @Param("age") int age);
 
     // @Query 방식 2 - 기본 타입 조회
+    @QueryHints(value = { // 쿼리 결과 캐시 (member 테이블이 변경되면 자동으로 무효화)
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "member-query-results")
+    })
     @Query("select m.username from Member m")
     List<String> findUsernameList(); // username 전체 조회
 
     // @Query 방식 2 - 기본 타입 조회  (DTO는 마치 생성해서 반환하는 것처럼 패키지명 다 함께 적어주어야함. 생성자(allArgsCons)필수)
+    @QueryHints(value = { // 쿼리 결과 캐시 (member, team 중 하나라도 변경되면 무효화)
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "member-query-results")
+    })
     @Query("select new com.study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto(); // memberDto 전체 조회
 
@@ -54,6 +71,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Page<Member> findPageByAge(int age, Pageable pageable); // count 쿼리 사용
     Slice<Member> findSliceByAge(int age, Pageable pageable); // count 쿼리 사용 x
     List<Member> findListByAge(int age, Pageable pageable); //count 쿼리 사용 안함
+    List<Member> findListBy(Pageable pageable); // 전체 회원 목록만 (count 쿼리 사용 안함)
+    long countByAge(int age); // 목록과 count를 따로 실행할 때 사용 (CountingPageExecutor)
 
     @Query(value = "select m from Member m left join m.team t")
     Page<Member> findMemberByAge(int age, Pageable pageable);  // select와 count 모두 join되어서 쿼리 날라감
@@ -62,8 +81,12 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
             countQuery = "select count(m) from Member m")
     Page<Member> findMemberFasterByAge(int age, Pageable pageable); // count쿼리는 조인 안됨
 
+    // 큰 테이블에서는 한 문장으로 오래 락을 잡으므로 ChunkedBulkUpdateService.bulkAgePlus 로 나눠서 실행 가능
+    @Transactional
     @Modifying(clearAutomatically = true) // 벌크성 수정, 삭제 쿼리는 @Modifying 사용! 사용 안하면 예외발생
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    // 벌크 연산은 @Version, 엔티티 리스너(수정일, 수정자)를 거치지 않으므로 직접 세팅 (auditNow, auditor : AuditEvaluationContextExtension)
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1," +
+            " m.lastModifiedDate = :#{auditNow}, m.lastModifiedBy = :#{auditor} where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     /**
@@ -86,7 +109,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     )
     Member findReadOnlyByUsername(String username);
 
-    // Lock
+    // Lock (인터페이스의 readOnly 트랜잭션이면 replica 로 라우팅되므로 쓰기 트랜잭션으로 primary 에서 실행)
+    @Transactional
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String name);
 
@@ -100,6 +124,28 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     // 2: 클래스 기반 Projection 사용
     List<UsernameOnlyDto> findProjections2ByUsername(@Param("username") String username);
 
+    // 3: id 로 projection 조회 - 필요한 컬럼만 select, Member 엔티티를 만들지 않으므로 영속성 컨텍스트에도 안 올라감
+    <T> Optional<T> findProjectionById(@Param("id") Long id, Class<T> type);
+
+    // 4: DTO 페이징 - team 없는 회원도 포함되도록 left join, count 는 join 없이
+    @Query(value = "select new com.study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    /**
+     * 비동기 조회 (datajpa.execution.mode 에 따라 스레드 풀 / virtual thread 에서 실행)
+     * 다른 스레드의 트랜잭션에서 실행되므로 반환된 엔티티는 준영속 상태 (지연 로딩 불가)
+     */
+    @Async(ExecutionModeConfig.REPOSITORY_EXECUTOR)
+    CompletableFuture<List<Member>> findAsyncByUsername(String username);
+
+    @Async(ExecutionModeConfig.REPOSITORY_EXECUTOR)
+    CompletableFuture<Page<Member>> findAsyncPageByAge(int age, Pageable pageable);
+
+    @Async(ExecutionModeConfig.REPOSITORY_EXECUTOR)
+    @Query("select new com.study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
+    CompletableFuture<List<MemberDto>> findAsyncMemberDto();
+
     // 네이티브 쿼리
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
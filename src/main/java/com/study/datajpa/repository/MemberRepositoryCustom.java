@@ -1,10 +1,27 @@
 package com.study.datajpa.repository;
 
+import com.study.datajpa.dto.MemberDto;
 import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.fetch.MemberFetchPlan;
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    // keyset(seek) 페이징 : 마지막으로 본 (sortKey, id) 다음부터 size 만큼 조회 (token이 null이면 처음부터)
+    KeysetWindow<Member> findMemberKeyset(MemberKeysetSort sort, String continuationToken, int size);
+
+    // 전체 회원을 fetchSize 만큼씩 끊어서 읽는 Stream (사용 후 반드시 close, 트랜잭션 안에서 사용)
+    Stream<Member> streamAllMembers(int fetchSize);
+
+    // 조회 조건(spec, null 이면 전체)을 fetch plan 으로 실행해서 MemberDto 로 반환 (plan 마다 @EntityGraph 메소드를 따로 만들지 않음)
+    Page<MemberDto> findMemberDtos(Specification<Member> spec, Pageable pageable, MemberFetchPlan plan);
 }
@@ -1,10 +1,39 @@
 package com.study.datajpa.repository;
 
+import com.study.datajpa.dto.MemberDto;
 import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.repository.fetch.MemberFetchPlan;
+import com.study.datajpa.repository.keyset.KeysetCursor;
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
@@ -16,4 +45,177 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    /**
+     * offset 방식은 앞 페이지를 모두 읽고 버리므로 뒤 페이지로 갈수록 느려지지만,
+     * keyset 방식은 where 조건으로 시작 위치를 바로 찾으므로 몇번째 페이지든 비용이 같음 (count 쿼리도 없음)
+     */
+    @Override
+    public KeysetWindow<Member> findMemberKeyset(MemberKeysetSort sort, String continuationToken, int size) {
+        KeysetCursor cursor = continuationToken == null ? null : KeysetCursor.decode(continuationToken, sort);
+        String key = "m." + sort.getAttribute(); // 화이트리스트(enum)에 있는 속성명만 사용
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회 (Slice와 같은 방식)
+        List<Member> result;
+        if (cursor != null && cursor.getValue() == null) {
+            result = findNullKeys(key, cursor.getId(), size + 1); // 이미 맨 뒤의 null 구간
+        } else {
+            result = findNonNullKeys(sort, key, cursor, size + 1);
+            if (sort.isNullable() && result.size() <= size) {
+                // 값이 있는 회원을 다 읽었으면 정렬값이 null 인 회원을 이어서 (비교 조건으로는 null 을 찾을 수 없으므로 따로 조회)
+                result = new ArrayList<>(result);
+                result.addAll(findNullKeys(key, null, size + 1 - result.size()));
+            }
+        }
+
+        boolean hasNext = result.size() > size;
+        List<Member> content = hasNext ? result.subList(0, size) : result;
+        String nextToken = hasNext ? KeysetCursor.of(sort, content.get(content.size() - 1)).encode() : null;
+        return new KeysetWindow<>(content, hasNext, nextToken);
+    }
+
+    private List<Member> findNonNullKeys(MemberKeysetSort sort, String key, KeysetCursor cursor, int limit) {
+        StringBuilder jpql = new StringBuilder("select m from Member m");
+        if (cursor != null) {
+            jpql.append(sort.isId()
+                    ? " where m.id > :id"
+                    // key > :value or (key = :value and id > :id) 와 같은 조건, or 로 시작하면 인덱스 범위 스캔을 못하므로 key >= :value 를 앞에
+                    : " where " + key + " >= :value and (" + key + " > :value or m.id > :id)");
+        } else if (sort.isNullable()) {
+            jpql.append(" where ").append(key).append(" is not null");
+        }
+        jpql.append(sort.isId() ? " order by m.id" : " order by " + key + ", m.id");
+
+        TypedQuery<Member> query = em.createQuery(jpql.toString(), Member.class);
+        if (cursor != null) {
+            query.setParameter("id", cursor.getId());
+            if (!sort.isId()) {
+                query.setParameter("value", cursor.getValue());
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private List<Member> findNullKeys(String key, Long afterId, int limit) {
+        TypedQuery<Member> query = em.createQuery("select m from Member m where " + key + " is null"
+                + (afterId == null ? "" : " and m.id > :id") + " order by m.id", Member.class);
+        if (afterId != null) {
+            query.setParameter("id", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * getResultList()는 전체 결과를 List로 만들지만, getResultStream()은 JDBC ResultSet을 커서처럼 읽음
+     * - fetchSize : DB에서 한번에 가져오는 row 수
+     * - readOnly : 스냅샷을 만들지 않음 (dirty checking 대상 X)
+     * - cacheMode IGNORE : 읽은 엔티티를 2차 캐시에 넣지 않음 (한번 읽고 버리는 전체 조회가 Member 캐시 영역을 밀어내지 않도록)
+     *   스트림은 읽을 때마다 세션의 캐시 모드로 로딩하므로 (쿼리 힌트는 커서를 연 뒤 원래대로 돌아감) 스트림을 닫을 때까지 세션에 설정
+     * 읽은 엔티티는 영속성 컨텍스트에 쌓이므로 호출하는 쪽에서 주기적으로 detach / clear 해야 함
+     */
+    @Override
+    public Stream<Member> streamAllMembers(int fetchSize) {
+        Session session = em.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        return em.createQuery("select m from Member m order by m.id", Member.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .onClose(() -> session.setCacheMode(cacheMode));
+    }
+
+    /**
+     * fetch plan 별 실행 SQL (count 쿼리 제외)
+     * - LAZY : member 1번 + team 지연 로딩 (default_batch_fetch_size 로 묶어서 team 수 / batch size 번)
+     * - TEAM_JOIN : member left join fetch team 1번
+     * - TEAM_BATCH : member 1번 + team in 절 1번
+     * - PROJECTION : member left join team 에서 필요한 컬럼만 1번
+     */
+    @Override
+    @Transactional(readOnly = true) // LAZY, TEAM_BATCH 는 DTO 로 바꾸면서 team 을 읽으므로 영속성 컨텍스트가 열려 있어야 함
+    public Page<MemberDto> findMemberDtos(Specification<Member> spec, Pageable pageable, MemberFetchPlan plan) {
+        Specification<Member> where = Specification.where(spec);
+        List<MemberDto> content = plan == MemberFetchPlan.PROJECTION
+                ? findMemberDtoProjection(where, pageable)
+                : findMembers(where, pageable, plan).stream()
+                        .map(member -> new MemberDto(member.getId(), member.getUsername(), member.getTeam() == null ? null : member.getTeam().getName()))
+                        .collect(Collectors.toList());
+        // 첫 페이지가 다 안 찼으면 count 쿼리 생략
+        return PageableExecutionUtils.getPage(content, pageable, () -> countMembers(where));
+    }
+
+    private List<Member> findMembers(Specification<Member> spec, Pageable pageable, MemberFetchPlan plan) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Member> query = cb.createQuery(Member.class);
+        Root<Member> m = query.from(Member.class);
+        applyWhereAndSort(query, m, cb, spec, pageable);
+
+        TypedQuery<Member> typedQuery = paged(em.createQuery(query), pageable);
+        if (plan == MemberFetchPlan.TEAM_JOIN) {
+            EntityGraph<Member> graph = em.createEntityGraph(Member.class);
+            graph.addAttributeNodes("team");
+            typedQuery.setHint(QueryHints.HINT_FETCHGRAPH, graph);
+        }
+        List<Member> members = typedQuery.getResultList();
+        if (plan == MemberFetchPlan.TEAM_BATCH) {
+            loadTeams(members);
+        }
+        return members;
+    }
+
+    // 아직 로딩 안 된 team 프록시의 id 만 모아서 in 절 한 번으로 로딩 (영속성 컨텍스트에 올라가면 프록시가 초기화됨)
+    private void loadTeams(List<Member> members) {
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Long> teamIds = members.stream()
+                .map(Member::getTeam)
+                .filter(Objects::nonNull)
+                .filter(team -> !Hibernate.isInitialized(team))
+                .map(team -> (Long) util.getIdentifier(team)) // 프록시를 초기화하지 않고 id 만 꺼냄
+                .distinct()
+                .collect(Collectors.toList());
+        if (!teamIds.isEmpty()) {
+            em.unwrap(Session.class).byMultipleIds(Team.class).multiLoad(teamIds);
+        }
+    }
+
+    private List<MemberDto> findMemberDtoProjection(Specification<Member> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<MemberDto> query = cb.createQuery(MemberDto.class);
+        Root<Member> m = query.from(Member.class);
+        Join<Member, Team> t = m.join("team", JoinType.LEFT); // team 없는 회원도 포함
+        query.select(cb.construct(MemberDto.class, m.get("id"), m.get("username"), t.get("name")));
+        applyWhereAndSort(query, m, cb, spec, pageable);
+        return paged(em.createQuery(query), pageable).getResultList();
+    }
+
+    private long countMembers(Specification<Member> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Member> m = query.from(Member.class);
+        query.select(cb.count(m));
+        Predicate predicate = spec.toPredicate(m, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private void applyWhereAndSort(CriteriaQuery<?> query, Root<Member> m, CriteriaBuilder cb, Specification<Member> spec, Pageable pageable) {
+        Predicate predicate = spec.toPredicate(m, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), m, cb)); // 없는 속성이면 IllegalArgumentException
+        }
+    }
+
+    private <T> TypedQuery<T> paged(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
 }
@@ -0,0 +1,32 @@
+package com.study.datajpa.repository.fetch;
+
+/**
+ * 회원 조회시 team 을 가져오는 방식 (요청 파라미터로 받을 수 있는 fetch plan 화이트리스트)
+ * 결과는 모두 MemberDto 로 같고, 실행되는 SQL 수와 영속성 컨텍스트에 올라가는 엔티티만 다름
+ */
+public enum MemberFetchPlan {
+
+    LAZY("lazy"),             // 회원만 조회, team 은 DTO 로 바꿀 때 지연 로딩 (default_batch_fetch_size 만큼씩 in 절로 : 1 + team 수 / batch size)
+    TEAM_JOIN("team-join"),   // EntityGraph 로 team 까지 fetch join (1번)
+    TEAM_BATCH("team-batch"), // 회원 조회 후 team 을 batch size 와 관계없이 in 절 한 번에 (2번, 컬렉션을 추가해도 페이징이 안전)
+    PROJECTION("projection"); // 필요한 컬럼만 DTO 로 조회 (1번, 엔티티를 만들지 않음)
+
+    private final String parameter;
+
+    MemberFetchPlan(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public static MemberFetchPlan from(String parameter) {
+        for (MemberFetchPlan plan : values()) {
+            if (plan.parameter.equalsIgnoreCase(parameter) || plan.name().equalsIgnoreCase(parameter)) {
+                return plan;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 fetch plan 입니다. plan=" + parameter);
+    }
+}
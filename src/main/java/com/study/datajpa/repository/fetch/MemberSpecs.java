@@ -0,0 +1,22 @@
+package com.study.datajpa.repository.fetch;
+
+import com.study.datajpa.entity.Member;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * MemberRepository.findMemberDtos 에 넘기는 조회 조건
+ * 값이 null 이면 조건을 추가하지 않음 (Specification.where(..).and(null) 은 무시됨)
+ */
+public final class MemberSpecs {
+
+    private MemberSpecs() {
+    }
+
+    public static Specification<Member> ageEquals(Integer age) {
+        return age == null ? null : (root, query, cb) -> cb.equal(root.get("age"), age);
+    }
+
+    public static Specification<Member> usernameEquals(String username) {
+        return username == null ? null : (root, query, cb) -> cb.equal(root.get("username"), username);
+    }
+}
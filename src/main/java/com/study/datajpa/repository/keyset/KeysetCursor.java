@@ -0,0 +1,66 @@
+package com.study.datajpa.repository.keyset;
+
+import com.study.datajpa.entity.Member;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 마지막으로 조회한 (sortKey, id) 위치
+ * 클라이언트에는 내부 구조를 알 수 없도록 Base64 토큰(continuation token)으로 내려줌
+ * 정렬값은 null 이면 N, 아니면 V + 값으로 저장 (username 이 "null" 인 경우와 구분)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+
+    private static final String DELIMITER = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String VALUE_PREFIX = "V";
+
+    private final MemberKeysetSort sort;
+    private final Long id;
+    private final Object value;
+
+    public static KeysetCursor of(MemberKeysetSort sort, Member last) {
+        return new KeysetCursor(sort, last.getId(), sort.valueOf(last));
+    }
+
+    public String encode() {
+        String raw = sort.name() + DELIMITER + id + DELIMITER + (value == null ? NULL_VALUE : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 다른 정렬 기준으로 만든 토큰을 넘기면 위치가 어긋나므로 예외
+     */
+    public static KeysetCursor decode(String token, MemberKeysetSort expectedSort) {
+        KeysetCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, 3); // value(username)에 구분자가 있을 수 있으므로 최대 3개로 자름
+            MemberKeysetSort sort = MemberKeysetSort.valueOf(parts[0]);
+            cursor = new KeysetCursor(sort, Long.valueOf(parts[1]), parseValue(sort, parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 continuation token 입니다.", e);
+        }
+
+        if (cursor.getSort() != expectedSort) {
+            throw new IllegalArgumentException("정렬 기준이 토큰과 다릅니다. sort=" + expectedSort);
+        }
+        return cursor;
+    }
+
+    private static Object parseValue(MemberKeysetSort sort, String value) {
+        if (value.equals(NULL_VALUE) && sort.isNullable()) {
+            return null;
+        }
+        if (!value.startsWith(VALUE_PREFIX)) {
+            throw new IllegalArgumentException("정렬값 형식이 잘못되었습니다.");
+        }
+        return sort.parse(value.substring(VALUE_PREFIX.length()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.datajpa.repository.keyset;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * keyset 페이징 결과
+ * offset 페이징과 달리 전체 count, 페이지 번호가 없고 다음 위치(nextToken)만 알려줌
+ */
+@Getter
+public class KeysetWindow<T> {
+
+    private final List<T> content;
+    private final boolean hasNext;
+    private final String nextToken; // 마지막 페이지면 null
+
+    public KeysetWindow(List<T> content, boolean hasNext, String nextToken) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextToken = nextToken;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.study.datajpa.repository.keyset;
+
+import com.study.datajpa.entity.Member;
+
+import java.util.function.Function;
+
+/**
+ * keyset 페이징에서 허용하는 정렬 기준 (화이트리스트)
+ * 정렬값이 같은 경우 id로 한번 더 정렬해서 (sortKey, id) 조합이 항상 유일하도록 함
+ * 정렬값이 null 일 수 있는 기준(nullable)은 null 인 회원을 맨 뒤에 id 순으로
+ */
+public enum MemberKeysetSort {
+
+    ID("id", false, Member::getId, Long::valueOf),
+    USERNAME("username", true, Member::getUsername, value -> value),
+    AGE("age", false, Member::getAge, Integer::valueOf);
+
+    private final String attribute;
+    private final boolean nullable;
+    private final Function<Member, Object> extractor;
+    private final Function<String, Object> parser;
+
+    MemberKeysetSort(String attribute, boolean nullable, Function<Member, Object> extractor, Function<String, Object> parser) {
+        this.attribute = attribute;
+        this.nullable = nullable;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isId() {
+        return this == ID;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    Object valueOf(Member member) {
+        return extractor.apply(member);
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static MemberKeysetSort from(String attribute) {
+        for (MemberKeysetSort sort : values()) {
+            if (sort.attribute.equalsIgnoreCase(attribute)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다. sort=" + attribute);
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.datajpa.repository.paging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 목록 조회(content)와 count 쿼리를 분리해서 TotalCountMode 에 따라 Page 를 만듦
+ *
+ * count 쿼리는 목록 조회보다 비싼 경우가 많으므로
+ * - 조건(countKey)별로 결과를 TTL 동안 캐시하거나
+ * - 별도 스레드에서 목록 조회와 동시에 실행
+ * 할 수 있음 (countKey 는 count 결과가 같아지는 조건을 모두 포함해야 함, 정렬/페이지는 제외)
+ *
+ * ASYNC 는 트랜잭션 밖에서 호출해야 함 (목록 조회가 끝나면 커넥션을 반납하고 count 를 기다리도록)
+ * 트랜잭션 안에서 호출되면 커넥션을 잡은 채로 두번째 커넥션을 기다리게 되므로 EXACT 로 실행
+ */
+@Slf4j
+@Component
+public class CountingPageExecutor {
+
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Long>> refreshing = new ConcurrentHashMap<>();
+    private final ExecutorService countExecutor;
+    private final long ttlNanos;
+    private final int maxCacheSize;
+
+    public CountingPageExecutor(@Value("${datajpa.paging.count-ttl:30s}") Duration ttl,
+                                @Value("${datajpa.paging.count-cache-size:1000}") int maxCacheSize,
+                                @Value("${datajpa.paging.count-threads:4}") int countThreads) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxCacheSize = maxCacheSize;
+        AtomicInteger sequence = new AtomicInteger();
+        this.countExecutor = Executors.newFixedThreadPool(countThreads, runnable -> {
+            Thread thread = new Thread(runnable, "page-count-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> TotalCountPage<T> page(String countKey, Pageable pageable, TotalCountMode mode,
+                                      Supplier<List<T>> content, LongSupplier count) {
+        switch (mode) {
+            case CACHED:
+                return cached(countKey, pageable, content, count);
+            case ASYNC:
+                return async(countKey, pageable, content, count);
+            case ESTIMATED:
+                return estimated(countKey, pageable, content, count);
+            default:
+                return exact(countKey, pageable, content.get(), count);
+        }
+    }
+
+    public void evict(String countKey) {
+        countCache.remove(countKey);
+    }
+
+    private <T> TotalCountPage<T> exact(String countKey, Pageable pageable, List<T> content, LongSupplier count) {
+        // 첫 페이지인데 size 보다 적게 조회되었거나 마지막 페이지라면 count 쿼리 없이 전체 개수를 알 수 있음
+        if (pageable.isPaged() && content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+            return new TotalCountPage<>(content, pageable, pageable.getOffset() + content.size(), true);
+        }
+        return new TotalCountPage<>(content, pageable, store(countKey, count.getAsLong()), true);
+    }
+
+    private <T> TotalCountPage<T> cached(String countKey, Pageable pageable, Supplier<List<T>> content, LongSupplier count) {
+        CachedCount cached = countCache.get(countKey);
+        if (cached != null && !cached.isExpired()) {
+            return new TotalCountPage<>(content.get(), pageable, cached.total, false);
+        }
+        return exact(countKey, pageable, content.get(), count);
+    }
+
+    private <T> TotalCountPage<T> async(String countKey, Pageable pageable, Supplier<List<T>> content, LongSupplier count) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.debug("트랜잭션 안에서 ASYNC count 요청 - 같은 커넥션에서 EXACT 로 실행: key={}", countKey);
+            return exact(countKey, pageable, content.get(), count);
+        }
+        CompletableFuture<Long> total = CompletableFuture.supplyAsync(count::getAsLong, countExecutor);
+        List<T> result = content.get();
+        try {
+            return new TotalCountPage<>(result, pageable, store(countKey, total.join()), true);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private <T> TotalCountPage<T> estimated(String countKey, Pageable pageable, Supplier<List<T>> content, LongSupplier count) {
+        CachedCount cached = countCache.get(countKey);
+        if (cached == null) {
+            return exact(countKey, pageable, content.get(), count);
+        }
+        if (cached.isExpired()) {
+            refreshInBackground(countKey, count);
+        }
+        return new TotalCountPage<>(content.get(), pageable, cached.total, false);
+    }
+
+    private void refreshInBackground(String countKey, LongSupplier count) {
+        // 같은 조건의 갱신이 이미 진행중이면 중복 실행하지 않음
+        refreshing.computeIfAbsent(countKey, key -> CompletableFuture
+                .supplyAsync(() -> store(key, count.getAsLong()), countExecutor)
+                .whenComplete((total, e) -> {
+                    refreshing.remove(key);
+                    if (e != null) {
+                        log.warn("count 갱신 실패: key={}", key, e);
+                    }
+                }));
+    }
+
+    private long store(String countKey, long total) {
+        if (countCache.size() >= maxCacheSize) {
+            countCache.values().removeIf(CachedCount::isExpired);
+            if (countCache.size() >= maxCacheSize) {
+                countCache.clear(); // 조건이 너무 다양해서 캐시 효과가 없는 경우
+            }
+        }
+        countCache.put(countKey, new CachedCount(total, System.nanoTime() + ttlNanos));
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        countExecutor.shutdownNow();
+    }
+
+    private static class CachedCount {
+
+        private final long total;
+        private final long expiresAt;
+
+        CachedCount(long total, long expiresAt) {
+            this.total = total;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
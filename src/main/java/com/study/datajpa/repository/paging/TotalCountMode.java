@@ -0,0 +1,12 @@
+package com.study.datajpa.repository.paging;
+
+/**
+ * Page 의 전체 개수(totalElements)를 구하는 방식
+ */
+public enum TotalCountMode {
+
+    EXACT,     // 매번 count 쿼리 (기본 Page 와 동일)
+    CACHED,    // 조건별로 count 결과를 TTL 동안 캐시 (캐시된 값은 정확하지 않을 수 있음)
+    ASYNC,     // count 쿼리를 다른 스레드(커넥션)에서 목록 조회와 동시에 실행
+    ESTIMATED  // 만료된 캐시 값이라도 바로 사용하고 백그라운드에서 갱신 (근사값 허용)
+}
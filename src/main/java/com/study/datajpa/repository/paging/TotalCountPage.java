@@ -0,0 +1,23 @@
+package com.study.datajpa.repository.paging;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 전체 개수가 이번 요청에서 계산한 정확한 값인지(totalExact) 알려주는 Page
+ */
+public class TotalCountPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public TotalCountPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
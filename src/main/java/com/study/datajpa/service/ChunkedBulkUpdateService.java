@@ -0,0 +1,162 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.audit.AuditContext;
+import com.study.datajpa.entity.BulkUpdateJob;
+import com.study.datajpa.outbox.BulkChangeRecorder;
+import com.study.datajpa.repository.BulkUpdateJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * 한번에 실행하면 테이블 전체에 락을 오래 잡는 벌크 수정을 id 범위로 나눠서 실행
+ *
+ * - 시작 시점의 최소 ~ 최대 id 를 chunkSize 건씩 나눠서 청크마다 별도 트랜잭션으로 커밋
+ *   (수정 대상 여부와 상관없이 row 수 기준이므로 청크마다 락을 잡는 범위가 일정함)
+ * - 청크마다 진행상황(BulkUpdateJob)을 같은 트랜잭션에 저장 -> 중간에 죽으면 같은 jobId 로 다시 실행해서 이어서 처리
+ * - 청크 사이에 pauseBetweenChunks 만큼 쉬어서 다른 트랜잭션이 끼어들 수 있게 함
+ * - outbox 가 켜져 있으면 청크마다 수정 범위를 BULK_UPDATE 이벤트로 같은 트랜잭션에 기록
+ *
+ * 각 row 는 정확히 한번 수정되므로 결과는 한번에 실행한 것과 같음
+ * (단, 실행 도중 다른 트랜잭션이 바꾼 값은 그 row 의 청크가 실행되는 시점 기준으로 반영됨)
+ */
+@Slf4j
+@Service
+public class ChunkedBulkUpdateService {
+
+    // bulkAgePlus 와 같은 조건, :fromId < id <= :toId 범위만 수정
+    // :auditNow, :auditor 는 청크마다 AuditContext 가 채움 (job 파라미터에 넣으면 재시작시 달라지므로)
+    static final String MEMBER_AGE_PLUS = "update Member m set m.age = m.age + 1, m.version = m.version + 1" +
+            ", m.lastModifiedDate = :auditNow, m.lastModifiedBy = :auditor" +
+            " where m.age >= :age and m.id > :fromId and m.id <= :toId";
+
+    private final BulkUpdateJobRepository bulkUpdateJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditContext auditContext;
+    private final ObjectProvider<BulkChangeRecorder> bulkChangeRecorder;
+    private final int defaultChunkSize;
+    private final Duration pauseBetweenChunks;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public ChunkedBulkUpdateService(BulkUpdateJobRepository bulkUpdateJobRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    AuditContext auditContext,
+                                    ObjectProvider<BulkChangeRecorder> bulkChangeRecorder,
+                                    @Value("${datajpa.bulk-update.chunk-size:1000}") int defaultChunkSize,
+                                    @Value("${datajpa.bulk-update.pause-between-chunks:0ms}") Duration pauseBetweenChunks) {
+        this.bulkUpdateJobRepository = bulkUpdateJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditContext = auditContext;
+        this.bulkChangeRecorder = bulkChangeRecorder;
+        this.defaultChunkSize = defaultChunkSize;
+        this.pauseBetweenChunks = pauseBetweenChunks;
+    }
+
+    public BulkUpdateJob bulkAgePlus(String jobId, int age) {
+        return bulkAgePlus(jobId, age, defaultChunkSize, job -> { });
+    }
+
+    public BulkUpdateJob bulkAgePlus(String jobId, int age, int chunkSize, Consumer<BulkUpdateJob> progressListener) {
+        return run(jobId, "Member", MEMBER_AGE_PLUS, Collections.singletonMap("age", age), chunkSize, progressListener);
+    }
+
+    /**
+     * @param updateJpql      :fromId, :toId 파라미터로 id 범위를 제한하는 update 쿼리
+     * @param progressListener 청크가 커밋될 때마다 호출
+     */
+    public BulkUpdateJob run(String jobId, String entityName, String updateJpql, Map<String, ?> parameters,
+                             int chunkSize, Consumer<BulkUpdateJob> progressListener) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("청크마다 커밋해야 하므로 트랜잭션 밖에서 호출해야 합니다");
+        }
+        if (!updateJpql.contains(":fromId") || !updateJpql.contains(":toId")) {
+            throw new IllegalArgumentException("update 쿼리에 :fromId, :toId 조건이 필요합니다");
+        }
+
+        String jobParameters = entityName + "|" + updateJpql + "|" + new TreeMap<>(parameters);
+        BulkUpdateJob job = transactionTemplate.execute(status -> startOrResume(jobId, entityName, jobParameters));
+        if (job.getChunks() > 0 && !job.isCompleted()) {
+            log.info("벌크 수정 이어서 실행: {}", job);
+        }
+        while (!job.isCompleted()) {
+            job = transactionTemplate.execute(status -> runChunk(jobId, entityName, updateJpql, parameters, chunkSize));
+            progressListener.accept(job);
+            log.debug("벌크 수정 진행: {}", job);
+            pause();
+        }
+        log.info("벌크 수정 완료: {}", job);
+        return job;
+    }
+
+    private BulkUpdateJob startOrResume(String jobId, String entityName, String jobParameters) {
+        BulkUpdateJob existing = bulkUpdateJobRepository.findById(jobId).orElse(null);
+        if (existing != null) {
+            if (!existing.getParameters().equals(jobParameters)) {
+                throw new IllegalStateException("같은 jobId 로 다른 조건의 수정을 실행할 수 없습니다: " + jobId);
+            }
+            return existing;
+        }
+        Object[] range = em.createQuery("select min(e.id), max(e.id) from " + entityName + " e", Object[].class)
+                .getSingleResult();
+        long minId = range[0] == null ? 1 : ((Number) range[0]).longValue();
+        long maxId = range[1] == null ? 0 : ((Number) range[1]).longValue();
+        return bulkUpdateJobRepository.save(new BulkUpdateJob(jobId, jobParameters, minId, maxId));
+    }
+
+    private BulkUpdateJob runChunk(String jobId, String entityName, String updateJpql, Map<String, ?> parameters, int chunkSize) {
+        // 같은 job 을 동시에 실행해도 청크가 겹치지 않도록 진행상황 row 에 락
+        BulkUpdateJob job = em.find(BulkUpdateJob.class, jobId, LockModeType.PESSIMISTIC_WRITE);
+        if (job.isCompleted()) {
+            return job;
+        }
+        long fromId = job.getLastProcessedId();
+        // 청크의 마지막 id = fromId 다음부터 chunkSize 번째 id (남은 row 가 더 적으면 maxId)
+        List<Long> lastIdOfChunk = em.createQuery("select e.id from " + entityName + " e where e.id > :fromId and e.id <= :maxId order by e.id", Long.class)
+                .setParameter("fromId", fromId)
+                .setParameter("maxId", job.getMaxId())
+                .setFirstResult(chunkSize - 1)
+                .setMaxResults(1)
+                .getResultList();
+        long toId = lastIdOfChunk.isEmpty() ? job.getMaxId() : lastIdOfChunk.get(0);
+
+        Query update = auditContext.stampBulkUpdate(em.createQuery(updateJpql))
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId);
+        parameters.forEach(update::setParameter);
+        int updatedRows = update.executeUpdate();
+        bulkChangeRecorder.ifAvailable(recorder -> recorder.record(entityName, "chunkedBulkUpdate",
+                Arrays.asList(jobId, new TreeMap<>(parameters), fromId, toId), updatedRows));
+        job.chunkCommitted(toId, updatedRows);
+        return job;
+    }
+
+    private void pause() {
+        if (pauseBetweenChunks.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunks.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벌크 수정 중단 (같은 jobId 로 다시 실행하면 이어서 처리)", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.study.datajpa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.dto.BulkIngestResult;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 회원 대량 등록
+ *
+ * save()를 한건씩 호출하면 건마다 트랜잭션 + insert 쿼리가 나가지만,
+ * 하나의 트랜잭션에서 persist 후 N건마다 flush & clear 하면
+ * - insert 쿼리가 JDBC batch(hibernate.jdbc.batch_size)로 묶여서 전송되고
+ * - 영속성 컨텍스트(1차 캐시)가 계속 커지지 않음 (dirty checking 대상도 N건으로 유지)
+ * 등록한 회원을 2차 캐시에 넣지 않음 (CacheMode.IGNORE, 대량 등록이 자주 조회되는 회원을 캐시에서 밀어내지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberBulkIngestService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${datajpa.ingest.flush-size:500}")
+    private int flushSize;
+
+    @Transactional
+    public BulkIngestResult ingest(Stream<Member> members) {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        // READ_WRITE 캐시는 커밋 후에 캐시 모드를 다시 확인해서 넣으므로 트랜잭션이 끝날 때까지 유지
+        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        Iterator<Member> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            memberJpaRepository.save(iterator.next());
+            if (++rows % flushSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        BulkIngestResult result = new BulkIngestResult(rows, System.nanoTime() - start);
+        log.info("bulk ingest 완료: {}", result);
+        return result;
+    }
+
+    /**
+     * 요청 본문을 회원 한 명씩 읽으면서 바로 저장 (전체를 메모리에 올리지 않음)
+     */
+    @Transactional
+    public BulkIngestResult ingest(InputStream body, MemberDataFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try (Stream<String> records = format.records(reader)) {
+            return ingest(records.map(record -> format.parse(record, objectMapper))
+                    .filter(Objects::nonNull)
+                    .map(dto -> new Member(dto.getUsername(), dto.getAge())));
+        }
+    }
+}
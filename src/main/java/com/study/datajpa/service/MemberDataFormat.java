@@ -0,0 +1,171 @@
+package com.study.datajpa.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.dto.MemberIngestDto;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 대량 등록 / 내보내기에서 사용하는 한 줄 = 회원 한 명 형식
+ * - NDJSON : {"username":"member1","age":10} (내보내기시 id 포함, 등록시 id는 무시)
+ * - CSV    : member1,10 (첫 줄 헤더 "username,age" 는 생략 가능)
+ *
+ * CSV 는 RFC 4180 규칙을 따름 (줄바꿈은 \n)
+ * - 쉼표, 큰따옴표, 줄바꿈이 들어간 값은 큰따옴표로 감싸고 값 안의 큰따옴표는 "" 로
+ * - null 은 빈 값, 빈 문자열은 "" 로 구분 (member1,10 / ,10 / "",10)
+ * - 큰따옴표 안의 줄바꿈은 값의 일부이므로 한 회원이 여러 줄이 될 수 있음
+ */
+public enum MemberDataFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    public static final String CSV_HEADER = "username,age";
+
+    private final MediaType mediaType;
+
+    MemberDataFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static MemberDataFormat fromContentType(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (MemberDataFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(requested)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 형식입니다. contentType=" + contentType);
+    }
+
+    /**
+     * CSV 값 하나 (필요할 때만 큰따옴표로 감쌈)
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.isEmpty()) {
+            return "\"\"";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * 회원 한 명씩 나눈 본문 (CSV 는 큰따옴표가 닫히지 않은 줄을 다음 줄과 합침)
+     */
+    Stream<String> records(BufferedReader reader) {
+        if (this == NDJSON) {
+            return reader.lines();
+        }
+        Iterator<String> lines = reader.lines().iterator();
+        Iterator<String> records = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (!lines.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                StringBuilder record = new StringBuilder(lines.next());
+                while (isQuoteOpen(record) && lines.hasNext()) {
+                    record.append('\n').append(lines.next());
+                }
+                return record.toString();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * @return 헤더 등 건너뛸 줄이면 null
+     */
+    MemberIngestDto parse(String line, ObjectMapper objectMapper) {
+        if (line.isBlank() || CSV_HEADER.equals(line)) {
+            return null;
+        }
+        try {
+            if (this == NDJSON) {
+                return objectMapper.readValue(line, MemberIngestDto.class);
+            }
+            List<String> fields = parseCsv(line);
+            if (fields.size() != 2) {
+                throw new IllegalArgumentException("username,age 두 값이 필요합니다. fields=" + fields.size());
+            }
+            return new MemberIngestDto(fields.get(0), Integer.parseInt(fields.get(1).trim()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 데이터입니다. line=" + line, e);
+        }
+    }
+
+    /**
+     * CSV 한 줄(record)을 값 목록으로 (감싸지 않은 빈 값은 null)
+     */
+    private static List<String> parseCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            if (i < record.length() && record.charAt(i) == '"') {
+                StringBuilder field = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= record.length()) {
+                        throw new IllegalArgumentException("큰따옴표가 닫히지 않았습니다.");
+                    }
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < record.length() && record.charAt(i) == '"') {
+                        field.append('"'); // "" -> "
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fields.add(field.toString());
+                if (i < record.length() && record.charAt(i) != ',') {
+                    throw new IllegalArgumentException("닫는 큰따옴표 뒤에는 쉼표가 와야 합니다.");
+                }
+            } else {
+                int comma = record.indexOf(',', i);
+                int end = comma < 0 ? record.length() : comma;
+                fields.add(end == i ? null : record.substring(i, end));
+                i = end;
+            }
+            if (i >= record.length()) {
+                return fields;
+            }
+            i++; // 쉼표
+        }
+    }
+
+    private static boolean isQuoteOpen(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 1;
+    }
+}
@@ -0,0 +1,108 @@
+package com.study.datajpa.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 전체 내보내기
+ *
+ * findAll()은 전체 회원을 List로 만들어 힙에 올리지만,
+ * Stream으로 한건씩 읽어서 바로 OutputStream에 쓰고 N건마다 영속성 컨텍스트를 비우면
+ * 데이터가 1만건이든 1000만건이든 힙에 남는 회원 엔티티는 최대 N건
+ * (CSV 형식은 MemberDataFormat 참고)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${datajpa.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${datajpa.export.detach-interval:500}")
+    private int detachInterval;
+
+    @Transactional(readOnly = true)
+    public long export(MemberDataFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        try (Stream<Member> members = memberRepository.streamAllMembers(fetchSize)) {
+            if (format == MemberDataFormat.NDJSON) {
+                rows = writeNdjson(members.iterator(), writer);
+            } else {
+                rows = writeCsv(members.iterator(), writer);
+            }
+        }
+        writer.flush();
+
+        log.info("export 완료: format={}, rows={}", format, rows);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<Member> members, Writer writer) throws IOException {
+        long rows = 0;
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .setRootValueSeparator(new SerializedString("\n"));
+        while (members.hasNext()) {
+            Member member = members.next();
+            json.writeStartObject();
+            json.writeNumberField("id", member.getId());
+            json.writeStringField("username", member.getUsername());
+            json.writeNumberField("age", member.getAge());
+            json.writeEndObject();
+            detachPeriodically(++rows);
+        }
+        if (rows > 0) {
+            json.writeRaw('\n');
+        }
+        json.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Member> members, Writer writer) throws IOException {
+        long rows = 0;
+        writer.write(MemberDataFormat.CSV_HEADER);
+        writer.write('\n');
+        while (members.hasNext()) {
+            Member member = members.next();
+            writer.write(MemberDataFormat.csvField(member.getUsername()));
+            writer.write(',');
+            writer.write(Integer.toString(member.getAge()));
+            writer.write('\n');
+            detachPeriodically(++rows);
+        }
+        return rows;
+    }
+
+    private void detachPeriodically(long rows) {
+        if (rows % detachInterval == 0) {
+            em.clear(); // 이미 내보낸 엔티티는 더 이상 필요 없으므로 1차 캐시에서 제거
+        }
+    }
+}
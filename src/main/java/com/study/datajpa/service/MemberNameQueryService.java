@@ -0,0 +1,84 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.concurrent.ExecutionModeConfig;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * 이름 목록이 아주 긴 MemberRepository.findByNames (in :names)
+ *
+ * - 중복 / null 이름은 빼고 chunkSize 개씩 나눠서 실행 (DB 파라미터 개수 제한)
+ * - 파라미터 개수는 hibernate.query.in_clause_parameter_padding 으로 2의 제곱수로 맞춰짐
+ *   -> 길이가 다른 목록도 같은 SQL 을 쓰므로 쿼리 플랜 캐시가 길이마다 늘어나지 않음 (chunkSize 도 2의 제곱수 권장)
+ * - 청크가 여러 개면 repositoryTaskExecutor 에서 병렬로 (청크마다 별도 트랜잭션 / 커넥션), 결과는 id 로 중복 제거
+ * - 호출하는 쪽 트랜잭션이 있으면 그 트랜잭션 안에서 순서대로 실행
+ *   (다른 스레드에서는 커밋 안 된 데이터가 안 보이고, 조회한 엔티티도 호출하는 쪽 영속성 컨텍스트에 없으므로)
+ */
+@Service
+public class MemberNameQueryService {
+
+    private final MemberRepository memberRepository;
+    private final AsyncTaskExecutor repositoryTaskExecutor;
+    private final int chunkSize;
+
+    public MemberNameQueryService(MemberRepository memberRepository,
+                                  @Qualifier(ExecutionModeConfig.REPOSITORY_EXECUTOR) AsyncTaskExecutor repositoryTaskExecutor,
+                                  @Value("${datajpa.in-list.chunk-size:1024}") int chunkSize) {
+        this.memberRepository = memberRepository;
+        this.repositoryTaskExecutor = repositoryTaskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<Member> findByNames(Collection<String> names) {
+        List<String> distinctNames = names.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinctNames.isEmpty()) {
+            return new ArrayList<>(); // 빈 in () 은 DB 에 따라 문법 오류
+        }
+        if (distinctNames.size() <= chunkSize) {
+            return memberRepository.findByNames(distinctNames);
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctNames.size(); from += chunkSize) {
+            chunks.add(distinctNames.subList(from, Math.min(from + chunkSize, distinctNames.size())));
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return distinct(chunks.stream().map(memberRepository::findByNames).collect(Collectors.toList()));
+        }
+
+        List<CompletableFuture<List<Member>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> memberRepository.findByNames(chunk), repositoryTaskExecutor))
+                .collect(Collectors.toList());
+        try {
+            return distinct(futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    // 청크 순서대로 합치면서 같은 회원(id)은 한번만
+    private List<Member> distinct(List<List<Member>> results) {
+        Map<Long, Member> members = new LinkedHashMap<>();
+        results.forEach(result -> result.forEach(member -> members.putIfAbsent(member.getId(), member)));
+        return new ArrayList<>(members.values());
+    }
+}
@@ -0,0 +1,43 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.paging.CountingPageExecutor;
+import com.study.datajpa.repository.paging.TotalCountMode;
+import com.study.datajpa.repository.paging.TotalCountPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * count 쿼리 비용을 줄인 회원 페이징
+ *
+ * findPageByAge, findAll(pageable)은 요청마다 count 쿼리가 나가지만
+ * 여기서는 목록(findListBy...)과 count(count...)를 따로 실행해서 TotalCountMode 로 count 방식을 선택할 수 있음
+ * (ASYNC 는 count 를 다른 커넥션에서 실행하므로 현재 트랜잭션의 변경사항은 보이지 않음)
+ *
+ * 클래스에 트랜잭션을 걸지 않음: 목록과 count 는 각각 repository 의 짧은 readOnly 트랜잭션으로 실행
+ * (트랜잭션이 커넥션을 잡은 채로 ASYNC count 를 기다리면 커넥션 풀이 바닥났을 때 서로 기다리며 멈춤)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberPageService {
+
+    private static final String COUNT_ALL = "member:all";
+    private static final String COUNT_BY_AGE = "member:age=";
+
+    private final MemberRepository memberRepository;
+    private final CountingPageExecutor countingPageExecutor;
+
+    public TotalCountPage<Member> findAll(Pageable pageable, TotalCountMode mode) {
+        return countingPageExecutor.page(COUNT_ALL, pageable, mode,
+                () -> memberRepository.findListBy(pageable),
+                memberRepository::count);
+    }
+
+    public TotalCountPage<Member> findPageByAge(int age, Pageable pageable, TotalCountMode mode) {
+        return countingPageExecutor.page(COUNT_BY_AGE + age, pageable, mode,
+                () -> memberRepository.findListByAge(age, pageable),
+                () -> memberRepository.countByAge(age));
+    }
+}
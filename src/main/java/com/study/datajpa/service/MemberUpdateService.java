@@ -0,0 +1,55 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.transaction.RetryingTransactionExecutor;
+import com.study.datajpa.transaction.UpdateLockMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 같은 회원을 동시에 수정하는 경로 (UpdateLockMode 로 비관적 / 낙관적 락 선택)
+ * - PESSIMISTIC : findLockByUsername (PESSIMISTIC_WRITE) 로 row 를 잡고 수정
+ * - OPTIMISTIC  : 락 없이 조회 후 수정, @Version 충돌시 RetryingTransactionExecutor 가 재시도
+ */
+@Service
+public class MemberUpdateService {
+
+    private final MemberRepository memberRepository;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final UpdateLockMode defaultLockMode;
+
+    public MemberUpdateService(MemberRepository memberRepository,
+                               RetryingTransactionExecutor retryingTransactionExecutor,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${datajpa.member.update-lock-mode:PESSIMISTIC}") UpdateLockMode defaultLockMode) {
+        this.memberRepository = memberRepository;
+        this.retryingTransactionExecutor = retryingTransactionExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultLockMode = defaultLockMode;
+    }
+
+    public int increaseAge(String username) {
+        return increaseAge(username, defaultLockMode);
+    }
+
+    /**
+     * @return 수정된 회원 수
+     */
+    public int increaseAge(String username, UpdateLockMode lockMode) {
+        if (lockMode == UpdateLockMode.OPTIMISTIC) {
+            return retryingTransactionExecutor.execute(status -> increaseAge(memberRepository.findListByUsername(username)));
+        }
+        return transactionTemplate.execute(status -> increaseAge(memberRepository.findLockByUsername(username)));
+    }
+
+    private int increaseAge(List<Member> members) {
+        members.forEach(member -> member.setAge(member.getAge() + 1));
+        return members.size();
+    }
+}
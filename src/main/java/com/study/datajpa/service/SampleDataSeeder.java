@@ -0,0 +1,83 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예제용 회원 user0 ~ user99 적재 (datajpa.seed.enabled=false 로 끌 수 있음)
+ *
+ * - background=false : 컨텍스트 초기화 중에(모든 싱글톤 빈 생성 직후) 적재, 시작하자마자 데이터가 있음 (테스트는 이 데이터가 있다고 가정)
+ * - background=true  : 시작이 끝난 뒤(ApplicationReadyEvent) applicationTaskExecutor 에서 적재 -> 시작 시간에서 빠짐
+ * 스키마를 지우지 않으면(ddl-auto: validate) 재시작할 때마다 쌓이므로 이미 있으면 건너뜀, 한 트랜잭션에서 JDBC batch 로 insert
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class SampleDataSeeder implements SmartInitializingSingleton, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final int MEMBER_COUNT = 100;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final boolean background;
+
+    public SampleDataSeeder(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor,
+                            @Value("${datajpa.seed.background:false}") boolean background) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.background = background;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!background) {
+            seed();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (background) {
+            applicationTaskExecutor.execute(() -> {
+                try {
+                    seed();
+                } catch (RuntimeException e) {
+                    log.warn("예제 데이터 적재 실패", e);
+                }
+            });
+        }
+    }
+
+    void seed() {
+        long start = System.nanoTime();
+        boolean seeded = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!memberRepository.findListByUsername("user0").isEmpty()) {
+                return false;
+            }
+            List<Member> members = new ArrayList<>(MEMBER_COUNT);
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                members.add(new Member("user" + i, 10 + i));
+            }
+            memberRepository.saveAll(members);
+            return true;
+        }));
+        log.info("예제 데이터 {} ({}ms)", seeded ? MEMBER_COUNT + "건 적재" : "이미 있음", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,43 @@
+package com.study.datajpa.transaction;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.hibernate.StaleStateException;
+import org.slf4j.Marker;
+
+import java.util.function.Supplier;
+
+/**
+ * RetryingTransactionExecutor 가 재시도하는 동안에만 Hibernate 가 batch 실행 실패마다 남기는
+ * 낙관적 락 충돌(StaleStateException) ERROR 로그를 끔 (logback-spring.xml 에 등록)
+ *
+ * 다른 batch 오류나 재시도 밖에서 난 충돌은 그대로 로그에 남음
+ * (재시도 횟수를 넘기면 RetryingTransactionExecutor 가 warn)
+ */
+public class RetriedOptimisticLockLogFilter extends TurboFilter {
+
+    private static final String BATCH_LOGGER = "org.hibernate.engine.jdbc.batch.internal.BatchingBatch";
+    private static final String STALE_STATE = StaleStateException.class.getName();
+    private static final ThreadLocal<Boolean> RETRYING = new ThreadLocal<>();
+
+    static <T> T retrying(Supplier<T> action) {
+        RETRYING.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            RETRYING.remove();
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // HHH000315: Exception executing batch [org.hibernate.StaleStateException: ...] (예외는 stack trace 없이 메시지에 포함됨)
+        if (RETRYING.get() != null && BATCH_LOGGER.equals(logger.getName())
+                && (t instanceof StaleStateException || format != null && format.contains(STALE_STATE))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
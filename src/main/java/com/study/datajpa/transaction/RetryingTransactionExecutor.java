@@ -0,0 +1,71 @@
+package com.study.datajpa.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 낙관적 락 충돌(@Version)이 나면 트랜잭션을 처음부터 다시 실행
+ *
+ * - 최대 maxAttempts 번 실행하고 그래도 충돌하면 마지막 예외를 그대로 던짐
+ * - 재시도 사이에 지수 backoff (initialBackoff * 2^n, 최대 maxBackoff) + jitter(절반은 랜덤) 만큼 대기
+ *   (동시에 충돌한 스레드들이 같은 시점에 다시 부딪히지 않도록)
+ * - 매 시도마다 새 트랜잭션 / 영속성 컨텍스트에서 다시 조회해야 의미가 있으므로 이미 트랜잭션 안이면 사용 불가
+ * - 재시도하는 충돌마다 Hibernate 가 남기는 batch ERROR 로그는 RetriedOptimisticLockLogFilter 가 걸러냄
+ */
+@Slf4j
+@Component
+public class RetryingTransactionExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public RetryingTransactionExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${datajpa.retry.max-attempts:5}") int maxAttempts,
+                                       @Value("${datajpa.retry.initial-backoff:5ms}") Duration initialBackoff,
+                                       @Value("${datajpa.retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("RetryingTransactionExecutor는 트랜잭션 밖에서 호출해야 합니다");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return RetriedOptimisticLockLogFilter.retrying(() -> transactionTemplate.execute(action));
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("낙관적 락 충돌 재시도 횟수 초과: attempts={}", attempt);
+                    throw e;
+                }
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, RuntimeException cause) {
+        long backoff = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        long sleepNanos = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
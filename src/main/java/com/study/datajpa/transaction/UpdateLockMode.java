@@ -0,0 +1,10 @@
+package com.study.datajpa.transaction;
+
+/**
+ * 동시에 같은 row 를 수정하는 경로의 동시성 제어 방식
+ */
+public enum UpdateLockMode {
+
+    PESSIMISTIC, // select ... for update 로 먼저 잡은 트랜잭션이 끝날 때까지 대기 (충돌이 잦을 때)
+    OPTIMISTIC   // @Version 으로 커밋 시점에 충돌 확인, 충돌하면 재시도 (충돌이 드물 때 처리량이 높음)
+}
@@ -0,0 +1,306 @@
+package com.study.datajpa.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 시작할 때 (ready 이벤트 전에, ApplicationRunner 는 ApplicationReadyEvent 보다 먼저 실행) 첫 요청이 내던 비용을 미리 냄
+ *
+ * 1. 커넥션 풀을 connections 개까지 채움 (hikari 는 첫 커넥션 외에는 백그라운드로 천천히 채움)
+ * 2. 모든 repository 의 쿼리 메소드(@Query, 메소드 이름 쿼리)를 기본값 인자로 한번씩 실행
+ *    -> JPQL 파싱 / criteria 생성 / 하이버네이트 쿼리 플랜 컴파일, JDBC prepared statement, 프록시 / 인터셉터 초기화
+ *    읽기 전용 + 롤백 트랜잭션, @Modifying / delete / @Lock / @Async / Stream 은 실행하지 않음 (같은 JPQL 이면 플랜 캐시 공유)
+ *    파라미터 없이 컬렉션을 반환하는 메소드(findHelloBy, findMemberDto 등)는 Top / First 로 제한하지 않으면 테이블 전체를 읽으므로 실행하지 않음
+ *    2차 캐시 / 쿼리 결과 캐시에 넣지 않음 (CacheMode.IGNORE, 워밍업 결과로 캐시 영역이 차지 않도록)
+ *    직접 구현한 메소드(MemberRepositoryCustomImpl 등)는 무엇을 하는지 모르므로 (쓰기 포함) 실행하지 않음
+ * 3. requests 에 지정한 GET 요청을 자기 자신에게 보냄 (웹 서버가 떠 있을 때만, 디스패처 / 메시지 컨버터 초기화)
+ */
+@Slf4j
+public class QueryWarmup implements ApplicationRunner {
+
+    private static final Object UNSUPPORTED = new Object();
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate readOnlyRollbackTx;
+    private final int connections;
+    private final int iterations;
+    private final List<String> requests;
+    private final Duration requestTimeout;
+
+    private volatile List<WarmupResult> results = Collections.emptyList();
+
+    public QueryWarmup(ApplicationContext applicationContext, DataSource dataSource, EntityManagerFactory emf,
+                       PlatformTransactionManager transactionManager, int connections, int iterations, List<String> requests, Duration requestTimeout) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.emf = emf;
+        this.readOnlyRollbackTx = new TransactionTemplate(transactionManager);
+        this.readOnlyRollbackTx.setReadOnly(true);
+        this.connections = connections;
+        this.iterations = iterations;
+        this.requests = requests;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<WarmupResult> results = new ArrayList<>();
+        results.add(primeConnections());
+        results.addAll(warmQueries());
+        results.addAll(warmRequests());
+        this.results = Collections.unmodifiableList(results);
+
+        long failed = results.stream().filter(result -> result.getStatus() == WarmupResult.Status.FAILED).count();
+        long skipped = results.stream().filter(result -> result.getStatus() == WarmupResult.Status.SKIPPED).count();
+        StringBuilder report = new StringBuilder();
+        results.forEach(result -> report.append('\n').append(result));
+        log.info("워밍업 {}ms (항목 {}개, 건너뜀 {}, 실패 {}){}", (System.nanoTime() - start) / 1_000_000, results.size(), skipped, failed, report);
+    }
+
+    public List<WarmupResult> getResults() {
+        return results;
+    }
+
+    private WarmupResult primeConnections() {
+        int count = connections;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) { // 풀 크기보다 많이 잡으면 connection-timeout 까지 기다림
+                count = Math.min(count, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            log.debug("HikariDataSource 확인 실패", e);
+        }
+
+        long start = System.nanoTime();
+        List<Connection> opened = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                opened.add(dataSource.getConnection());
+            }
+            return new WarmupResult("connection", count + "개", WarmupResult.Status.OK, System.nanoTime() - start, null);
+        } catch (SQLException e) {
+            return new WarmupResult("connection", count + "개", WarmupResult.Status.FAILED, System.nanoTime() - start, e.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("커넥션 반환 실패", e);
+                }
+            }
+        }
+    }
+
+    private List<WarmupResult> warmQueries() {
+        List<WarmupResult> results = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            if (repository == null) {
+                continue;
+            }
+            information.getQueryMethods().stream()
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(method -> results.add(warmQuery(repository, information, method)));
+        }
+        return results;
+    }
+
+    private WarmupResult warmQuery(Object repository, RepositoryInformation information, Method method) {
+        String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+        // MemberRepositoryCustom 처럼 Repository 가 아닌 인터페이스에 선언된 메소드는 직접 구현한 fragment
+        String skipReason = !Repository.class.isAssignableFrom(method.getDeclaringClass()) ? "직접 구현한 메소드" : skipReasonOf(method, information);
+        Object[] args = skipReason == null ? argumentsOf(method, information) : null;
+        if (skipReason == null && args == null) {
+            skipReason = "기본값을 만들 수 없는 파라미터";
+        }
+        if (skipReason != null) {
+            return new WarmupResult("query", name, WarmupResult.Status.SKIPPED, 0, skipReason);
+        }
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                readOnlyRollbackTx.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+                    if (em != null) {
+                        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                    }
+                    invoke(repository, method, args);
+                });
+            }
+            return new WarmupResult("query", name, WarmupResult.Status.OK, System.nanoTime() - start, null);
+        } catch (RuntimeException e) {
+            log.debug("워밍업 실패: {}", name, e);
+            return new WarmupResult("query", name, WarmupResult.Status.FAILED, System.nanoTime() - start, e.toString());
+        }
+    }
+
+    private static String skipReasonOf(Method method, RepositoryInformation information) {
+        if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class)
+                || method.getName().startsWith("delete") || method.getName().startsWith("remove")) {
+            return "변경 쿼리";
+        }
+        if (AnnotatedElementUtils.hasAnnotation(method, Lock.class)) {
+            return "락 쿼리";
+        }
+        if (AnnotatedElementUtils.hasAnnotation(method, Async.class)) {
+            return "비동기";
+        }
+        if (Stream.class.isAssignableFrom(method.getReturnType())) {
+            return "Stream";
+        }
+        if (method.getParameterCount() == 0 && isMultiValued(method.getReturnType()) && !isLimiting(method, information)) {
+            return "제한 없는 전체 조회";
+        }
+        return null;
+    }
+
+    private static boolean isMultiValued(Class<?> returnType) {
+        return Iterable.class.isAssignableFrom(returnType) || returnType.isArray();
+    }
+
+    // 메소드 이름 쿼리의 findTop3...By / findFirst...By (@Query 는 이름으로 제한하지 않음)
+    private static boolean isLimiting(Method method, RepositoryInformation information) {
+        if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+            return false;
+        }
+        try {
+            return new PartTree(method.getName(), information.getDomainType()).isLimiting();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void invoke(Object repository, Method method, Object[] args) {
+        try {
+            method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 결과가 없어도 되므로 빈 문자열 / 0 / 첫 페이지 1건 (in 절은 원소 1개)
+    private static Object[] argumentsOf(Method method, RepositoryInformation information) {
+        Object[] args = new Object[method.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = defaultValueOf(ResolvableType.forMethodParameter(new MethodParameter(method, i)), information);
+            if (args[i] == UNSUPPORTED) {
+                return null;
+            }
+        }
+        return args;
+    }
+
+    private static Object defaultValueOf(ResolvableType type, RepositoryInformation information) {
+        Class<?> raw = type.resolve(Object.class);
+        if (raw == String.class) {
+            return "";
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return 0;
+        }
+        if (raw == long.class || raw == Long.class) {
+            return 0L;
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return false;
+        }
+        if (raw.isEnum() && raw.getEnumConstants().length > 0) {
+            return raw.getEnumConstants()[0];
+        }
+        if (raw == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (raw == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (raw == Class.class) { // 동적 projection 은 엔티티 타입으로
+            return information.getDomainType();
+        }
+        if (raw == List.class || raw == Collection.class || raw == Set.class) {
+            Object element = defaultValueOf(type.getGeneric(0), information);
+            return element == UNSUPPORTED ? UNSUPPORTED : raw == Set.class ? Set.of(element) : List.of(element);
+        }
+        return UNSUPPORTED;
+    }
+
+    private List<WarmupResult> warmRequests() {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext)) {
+            log.debug("웹 서버가 없으므로 워밍업 요청 생략");
+            return Collections.emptyList();
+        }
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        List<WarmupResult> results = new ArrayList<>();
+        for (String path : requests) {
+            long start = System.nanoTime();
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(requestTimeout).GET().build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                results.add(new WarmupResult("request", path, status < 400 ? WarmupResult.Status.OK : WarmupResult.Status.FAILED,
+                        System.nanoTime() - start, "HTTP " + status));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new WarmupResult("request", path, WarmupResult.Status.FAILED, System.nanoTime() - start, "중단됨"));
+                break;
+            } catch (Exception e) {
+                results.add(new WarmupResult("request", path, WarmupResult.Status.FAILED, System.nanoTime() - start, e.toString()));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.study.datajpa.warmup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 시작할 때 쿼리 플랜 / 커넥션 풀 워밍업 (datajpa.warmup.enabled=false 로 끌 수 있음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupConfig {
+
+    @Bean
+    public QueryWarmup queryWarmup(ApplicationContext applicationContext, DataSource dataSource, EntityManagerFactory emf,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${datajpa.warmup.connections:10}") int connections,
+                                   @Value("${datajpa.warmup.iterations:1}") int iterations,
+                                   @Value("${datajpa.warmup.requests:}") List<String> requests, // 비어 있으면 요청 생략
+                                   @Value("${datajpa.warmup.request-timeout:5s}") Duration requestTimeout) {
+        return new QueryWarmup(applicationContext, dataSource, emf, transactionManager, connections, iterations, requests, requestTimeout);
+    }
+}
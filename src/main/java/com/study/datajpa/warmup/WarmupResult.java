@@ -0,0 +1,33 @@
+package com.study.datajpa.warmup;
+
+import lombok.Getter;
+
+/**
+ * 워밍업 항목 하나의 결과 (repository 메소드, 커넥션 풀, 요청)
+ */
+@Getter
+public class WarmupResult {
+
+    public enum Status {
+        OK, SKIPPED, FAILED
+    }
+
+    private final String kind; // query / connection / request
+    private final String name;
+    private final Status status;
+    private final long micros;
+    private final String detail; // 건너뛰거나 실패한 이유, 요청이면 응답 코드
+
+    WarmupResult(String kind, String name, Status status, long nanos, String detail) {
+        this.kind = kind;
+        this.name = name;
+        this.status = status;
+        this.micros = nanos / 1_000;
+        this.detail = detail;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-10s %-8s %8dus  %s%s", kind, status, micros, name, detail == null ? "" : " (" + detail + ")");
+    }
+}
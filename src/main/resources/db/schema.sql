@@ -0,0 +1,18 @@
+-- fast-startup 프로파일용 스키마 (ddl-auto: validate 로 엔티티와 일치하는지 확인, 엔티티를 바꾸면 같이 수정)
+-- 이미 있으면 그대로 두므로 재시작해도 데이터 유지
+create sequence if not exists hibernate_sequence start with 1 increment by 1;
+create sequence if not exists member_seq start with 1 increment by 50;
+
+create table if not exists bulk_update_job (job_id varchar(255) not null, created_date timestamp, last_modified_date timestamp, chunks integer not null, last_processed_id bigint, max_id bigint, parameters varchar(2000), status varchar(255), updated_rows bigint not null, primary key (job_id));
+create table if not exists item (id varchar(255) not null, created_date timestamp, last_modified_date timestamp, name varchar(255), primary key (id));
+create table if not exists team (team_id bigint not null, created_date timestamp, last_modified_date timestamp, created_by varchar(255), last_modified_by varchar(255), name varchar(255), version bigint, primary key (team_id));
+create table if not exists member (member_id bigint not null, created_date timestamp, last_modified_date timestamp, created_by varchar(255), last_modified_by varchar(255), age integer not null, username varchar(255), version bigint, team_id bigint, primary key (member_id));
+create table if not exists outbox_event (outbox_event_id bigint generated by default as identity, aggregate_id varchar(255), aggregate_type varchar(255), change_type varchar(255), occurred_at timestamp, payload varchar(2000), published_at timestamp, primary key (outbox_event_id));
+
+create index if not exists idx_member_username on member (username);
+create index if not exists idx_member_age on member (age);
+create index if not exists idx_member_team_id on member (team_id);
+create index if not exists idx_outbox_event_published_at on outbox_event (published_at, outbox_event_id);
+
+-- 제약조건 이름은 ddl-auto: create 로 만든 것과 같게 (둘을 번갈아 써도 중복되지 않도록)
+alter table member add constraint if not exists FKcjte2jn9pvo9ud2hyfgwcja0k foreign key (team_id) references team;
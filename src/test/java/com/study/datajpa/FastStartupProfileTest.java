@@ -0,0 +1,43 @@
+package com.study.datajpa;
+
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("스키마는 검증만 하고, 컴포넌트 인덱스 사용, repository 는 지연 초기화 후 사용 가능")
+    void fastStartup() {
+        assertThat(environment.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+        assertThat(environment.getProperty("spring.data.jpa.repositories.bootstrap-mode")).isEqualTo("deferred");
+        assertThat(CandidateComponentsIndexLoader.loadIndex(getClass().getClassLoader())).isNotNull();
+        assertThat(memberRepository.count()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("예제 데이터는 시작이 끝난 뒤 백그라운드에서 적재")
+    void seedInBackground() throws InterruptedException {
+        for (int i = 0; i < 100 && memberRepository.findListByUsername("user99").isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+
+        assertThat(memberRepository.findListByUsername("user0")).hasSize(1);
+        assertThat(memberRepository.findListByUsername("user99")).hasSize(1);
+    }
+}
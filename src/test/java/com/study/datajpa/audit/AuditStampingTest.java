@@ -0,0 +1,139 @@
+package com.study.datajpa.audit;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberJpaRepository;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AuditStampingTest {
+
+    @Autowired
+    AuditContext auditContext;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("FAST 모드 : 등록시 등록일 = 수정일, 같은 트랜잭션의 등록자 = 수정자")
+    void stampOnPersistAndUpdate() {
+        assertThat(auditContext.isFast()).isTrue();
+
+        // given
+        Member member = memberRepository.save(new Member("auditStamp", 921));
+        em.flush();
+        assertThat(member.getCreatedDate()).isNotNull().isEqualTo(member.getLastModifiedDate());
+        assertThat(member.getCreatedBy()).isNotNull().isEqualTo(member.getLastModifiedBy());
+        LocalDateTime created = member.getCreatedDate();
+
+        // when
+        sleepMillis(5);
+        member.setUsername("auditStamp2");
+        em.flush();
+
+        // then
+        assertThat(member.getLastModifiedDate()).isAfter(created);
+        assertThat(member.getCreatedDate()).isEqualTo(created);
+        assertThat(member.getLastModifiedBy()).isEqualTo(member.getCreatedBy()); // 작성자는 트랜잭션마다 한번만 조회
+    }
+
+    @Test
+    @DisplayName("벌크 수정도 수정일, 수정자를 채움 (@Query SpEL / JPQL 파라미터)")
+    void bulkUpdateStampsLastModified() {
+        // given
+        Member member1 = memberRepository.save(new Member("auditBulk1", 922));
+        Member member2 = memberRepository.save(new Member("auditBulk2", 922));
+        em.flush();
+        LocalDateTime created = member1.getCreatedDate();
+
+        // when
+        sleepMillis(5);
+        memberRepository.bulkAgePlus(922); // clearAutomatically
+        Member afterSpringData = memberRepository.findById(member1.getId()).get();
+        LocalDateTime firstBulk = afterSpringData.getLastModifiedDate();
+        sleepMillis(5);
+        memberJpaRepository.bulkAgePlus(923);
+        em.clear();
+        Member afterJpa = memberRepository.findById(member2.getId()).get();
+
+        // then
+        assertThat(afterSpringData.getAge()).isEqualTo(923);
+        assertThat(firstBulk).isAfter(created);
+        assertThat(afterSpringData.getLastModifiedBy()).isEqualTo(afterSpringData.getCreatedBy());
+        assertThat(afterJpa.getAge()).isEqualTo(924);
+        assertThat(afterJpa.getLastModifiedDate()).isAfter(firstBulk);
+        assertThat(afterJpa.getLastModifiedBy()).isNotNull();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("CachingAuditorAware : 트랜잭션 안에서는 한번만 조회, 밖에서는 매번 조회")
+    void auditorCachedPerTransaction() {
+        RequestContextHolder.resetRequestAttributes(); // 테스트마다 mock 요청이 묶여 있으므로 요청 밖(배치 등)처럼 만듦
+        AtomicInteger lookups = new AtomicInteger();
+        AuditorAware<String> auditorAware = new CachingAuditorAware(() -> Optional.of("user" + lookups.incrementAndGet()));
+
+        String inTx = new TransactionTemplate(transactionManager).execute(status -> {
+            auditorAware.getCurrentAuditor();
+            return auditorAware.getCurrentAuditor().get();
+        });
+        String nextTx = new TransactionTemplate(transactionManager).execute(status -> auditorAware.getCurrentAuditor().get());
+        auditorAware.getCurrentAuditor();
+
+        assertThat(inTx).isEqualTo("user1");
+        assertThat(nextTx).isEqualTo("user2"); // 끝난 트랜잭션의 값은 남지 않음
+        assertThat(lookups).hasValue(3);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("CoarseClock : 밀리초 단위, 시간은 거꾸로 가지 않음")
+    void coarseClock() {
+        CoarseClock clock = new CoarseClock(ZoneId.systemDefault());
+
+        LocalDateTime first = clock.now();
+        LocalDateTime second = clock.now();
+        sleepMillis(2);
+        LocalDateTime later = clock.now();
+
+        assertThat(first.getNano() % 1_000_000).isZero();
+        assertThat(second).isAfterOrEqualTo(first);
+        assertThat(later).isAfter(second);
+        assertThat(clock.getNow()).get().isInstanceOf(LocalDateTime.class);
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.datajpa.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VIRTUAL 로 설정해도 JDK 21 미만이면 PLATFORM 으로 동작하므로 DataSource 를 semaphore 로 감싸지 않음
+ * 공용 DB 의 테이블을 다시 만들지 않도록 in-memory H2 사용
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:execution-mode-virtual;DB_CLOSE_DELAY=-1",
+        "datajpa.execution.mode=VIRTUAL"
+})
+class ExecutionModeConfigTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("VIRTUAL - virtual thread 를 쓸 수 있을 때만 커넥션 수 제한 / Tomcat executor 교체")
+    void virtualOnlyWhenSupported() {
+        assertThat(dataSource instanceof ConnectionLimitingDataSource).isEqualTo(VirtualThreads.isSupported());
+        assertThat(applicationContext.containsBean("virtualThreadRequestExecutor")).isEqualTo(VirtualThreads.isSupported());
+    }
+}
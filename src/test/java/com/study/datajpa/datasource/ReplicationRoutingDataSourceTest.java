@@ -0,0 +1,83 @@
+package com.study.datajpa.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary 1개, replica 2개를 각각 다른 in-memory H2 로 만들고 어느 DB 에서 조회되었는지 확인
+ */
+class ReplicationRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicationRoutingDataSource(
+                database("primary"), Arrays.asList(database("replica1"), database("replica2"))));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica 를 번갈아 사용")
+    void readOnlyGoesToReplicas() {
+        assertThat(readOnlyNode()).isEqualTo("replica1");
+        assertThat(readOnlyNode()).isEqualTo("replica2");
+        assertThat(readOnlyNode()).isEqualTo("replica1");
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션, 트랜잭션 밖은 primary")
+    void writesStayOnPrimary() {
+        assertThat(writeNode()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션 안에서 호출한 readOnly 트랜잭션은 이미 잡은 primary 커넥션 사용")
+    void nestedReadOnlyJoinsPrimary() {
+        String node = tx.execute(status -> {
+            node();
+            return readOnlyTx.execute(inner -> node());
+        });
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTx.execute(status -> node());
+    }
+
+    private String writeNode() {
+        return tx.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
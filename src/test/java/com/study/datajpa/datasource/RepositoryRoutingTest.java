@@ -0,0 +1,69 @@
+package com.study.datajpa.datasource;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * repository(JPA) 를 거쳐도 라우팅되는지 확인
+ * replica 는 별도의 in-memory H2 이고 primary 에 없는 회원(routingReplicaOnly)이 있으므로 조회 결과로 어디서 읽었는지 구분
+ * primary 도 in-memory H2 를 써서 이 컨텍스트가 다른 테스트가 쓰는 공용 DB 의 테이블을 다시 만들지 않게 함
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository-routing-primary;DB_CLOSE_DELAY=-1",
+        "datajpa.datasource.routing.enabled=true",
+        "datajpa.datasource.routing.replicas[0].url=" + RepositoryRoutingTest.REPLICA_URL,
+        "datajpa.datasource.routing.replicas[0].username=sa"
+})
+class RepositoryRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:repository-routing-replica;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_ONLY = "routingReplicaOnly";
+
+    static { // 컨텍스트가 뜨기 전에 (워밍업이 replica 에서 조회하므로) replica 스키마와 데이터 준비
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(replica);
+        new JdbcTemplate(replica).update("insert into member (member_id, username, age, version) values (1000000, ?, 0, 0)", REPLICA_ONLY);
+    }
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("직접 선언한 조회 메소드(메소드 이름, 힌트, @Query)와 상속받은 조회 메소드는 replica")
+    void declaredQueriesReadFromReplica() {
+        assertThat(memberRepository.findListByUsername(REPLICA_ONLY)).hasSize(1);
+        assertThat(memberRepository.findReadOnlyByUsername(REPLICA_ONLY)).isNotNull();
+        assertThat(memberRepository.findUser(REPLICA_ONLY, 0)).hasSize(1);
+        assertThat(memberRepository.findAll()).extracting(Member::getUsername).contains(REPLICA_ONLY);
+    }
+
+    @Test
+    @DisplayName("저장, 락 조회, 벌크 수정, 쓰기 트랜잭션 안의 조회는 primary")
+    void writesAndLocksStayOnPrimary() {
+        String username = "routingPrimaryOnly" + System.nanoTime();
+        memberRepository.save(new Member(username, 20));
+
+        assertThat(memberRepository.findListByUsername(username)).isEmpty(); // replica 에는 없음
+        assertThat(memberRepository.findLockByUsername(username)).hasSize(1);
+        assertThat(memberRepository.bulkAgePlus(20)).isGreaterThanOrEqualTo(1);
+        List<Member> inWriteTx = new TransactionTemplate(transactionManager).execute(status -> memberRepository.findListByUsername(username));
+        assertThat(inWriteTx).hasSize(1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.datajpa.monitoring.metrics;
+
+import com.study.datajpa.controller.MetricsController;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RepositoryMetricsTest {
+
+    private static final String LABELS = "{repository=\"MemberRepository\",method=\"findListByUsername(String)\"";
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    RepositoryMetricsRegistry registry;
+
+    @Autowired
+    MetricsController metricsController;
+
+    @Test
+    @DisplayName("repository 메소드별 호출 수, row 수, 에러 수, 분위수")
+    void record() throws Exception {
+        // given
+        memberRepository.save(new Member("metrics1", 10));
+        memberRepository.save(new Member("metrics1", 20));
+        scrape(); // 이전 테스트에서 기록된 구간 비우기
+        long calls = sample("datajpa_repository_latency_seconds_count" + LABELS + "}");
+        long rows = sample("datajpa_repository_rows_total" + LABELS + "}");
+
+        // when
+        memberRepository.findListByUsername("metrics1");
+        memberRepository.findListByUsername("metrics1");
+        assertThatThrownBy(() -> memberRepository.findById(null)).isInstanceOf(RuntimeException.class);
+
+        // then
+        String text = scrape();
+        assertThat(text).contains("# TYPE datajpa_repository_latency_seconds summary");
+        assertThat(text).contains("datajpa_repository_latency_seconds" + LABELS + ",quantile=\"0.99\"}");
+        assertThat(text).doesNotContain("datajpa_repository_latency_seconds" + LABELS + ",quantile=\"0.99\"} NaN");
+        assertThat(valueOf(text, "datajpa_repository_latency_seconds_count" + LABELS + "}")).isEqualTo(calls + 2);
+        assertThat(valueOf(text, "datajpa_repository_rows_total" + LABELS + "}")).isGreaterThanOrEqualTo(rows + 4);
+        assertThat(valueOf(text, "datajpa_repository_errors_total{repository=\"MemberRepository\",method=\"findById(Object)\"}")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("@Async 조회 - 끝난 CompletableFuture 는 결과의 row 수, 아직 안 끝났거나 실패했으면 0")
+    void asyncRows() {
+        assertThat(RepositoryMetricsInterceptor.rowsOf(CompletableFuture.completedFuture(List.of("a", "b", "c")))).isEqualTo(3);
+        assertThat(RepositoryMetricsInterceptor.rowsOf(CompletableFuture.completedFuture(null))).isZero();
+        assertThat(RepositoryMetricsInterceptor.rowsOf(new CompletableFuture<List<String>>())).isZero();
+        assertThat(RepositoryMetricsInterceptor.rowsOf(CompletableFuture.failedFuture(new IllegalStateException()))).isZero();
+    }
+
+    @Test
+    @DisplayName("/admin/metrics 는 localhost 에서만 조회")
+    void endpoint() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        metricsController.metrics(new MockHttpServletRequest(), response);
+        assertThat(response.getContentType()).startsWith("text/plain; version=0.0.4");
+        assertThat(response.getContentAsString()).contains("# TYPE datajpa_repository_errors_total counter");
+
+        MockHttpServletRequest remote = new MockHttpServletRequest();
+        remote.setRemoteAddr("10.0.0.1");
+        assertThatThrownBy(() -> metricsController.metrics(remote, new MockHttpServletResponse()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private long sample(String name) throws Exception {
+        return valueOf(scrape(), name);
+    }
+
+    private String scrape() throws Exception {
+        StringWriter writer = new StringWriter();
+        registry.writePrometheus(writer);
+        return writer.toString();
+    }
+
+    private static long valueOf(String text, String name) {
+        return text.lines()
+                .filter(line -> line.startsWith(name))
+                .map(line -> (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .findFirst()
+                .orElse(0L);
+    }
+}
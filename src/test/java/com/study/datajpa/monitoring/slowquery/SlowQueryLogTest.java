@@ -0,0 +1,134 @@
+package com.study.datajpa.monitoring.slowquery;
+
+import com.study.datajpa.controller.SlowQueryController;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.trace.SqlTracer;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SlowQueryLogTest {
+
+    private static final List<String> WATCHED_COLUMNS = List.of("member.username", "member.age", "member.team_id", "team.name");
+
+    @Autowired
+    SqlTracer sqlTracer; // 설정(yml)대로 만들어진 tracer, 테스트가 끝나면 다시 설치
+
+    @Autowired
+    SlowQueryController slowQueryController;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void installSlowTracer() {
+        slowQueryLog = new SlowQueryLog(jdbcTemplate, WATCHED_COLUMNS, 100);
+        SqlTracer tracer = new SqlTracer(0, Duration.ZERO, 16); // 모든 SQL 이 느린 SQL
+        String thread = Thread.currentThread().getName();
+        tracer.addSlowStatementListener(entry -> { // 백그라운드 스레드(outbox 발행기 등)의 SQL 은 제외
+            if (thread.equals(entry.getThread())) {
+                slowQueryLog.record(entry);
+            }
+        });
+        SqlTracer.install(tracer);
+    }
+
+    @AfterEach
+    void restore() {
+        SqlTracer.install(sqlTracer);
+        slowQueryLog.close();
+    }
+
+    @Test
+    @DisplayName("느린 SQL 은 모양별로 repository 메소드, 인자와 함께 기록하고 EXPLAIN 은 모양마다 한번")
+    void recordShapeAndExplainOnce() throws InterruptedException {
+        memberRepository.findListByUsername("slowQuery1");
+        memberRepository.findListByUsername("slowQuery2");
+
+        SlowQueryShape shape = awaitPlan("username=?");
+        assertThat(shape.getCount()).isEqualTo(2);
+        assertThat(shape.getLastRepositoryMethod()).isEqualTo("MemberRepository.findListByUsername");
+        assertThat(shape.getLastParameters()).isEqualTo("[slowQuery2]");
+        assertThat(shape.getPlan()).contains("MEMBER");
+        assertThat(slowQueryLog.getShapes(10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("EXPLAIN 결과 조건 컬럼을 전체 스캔하면 표시하고 인덱스 생성 DDL 제안")
+    void flagFullScanOnWatchedColumn() throws InterruptedException {
+        em.createQuery("select t from Team t where t.name = :name", Team.class) // team.name 은 인덱스 없음
+                .setParameter("name", "slowQueryTeam")
+                .getResultList();
+
+        SlowQueryShape shape = awaitPlan("name=?");
+        assertThat(shape.getFullScans()).containsExactly("team.name");
+        assertThat(shape.getIndexAdvice()).containsExactly("create index idx_team_name on team (name)");
+    }
+
+    @Test
+    @DisplayName("H2 EXPLAIN 형식 : 별칭 있는 select / join, 인덱스 전체 스캔, 별칭 없는 update, 정렬 컬럼과 driving 테이블의 join 조건은 제외")
+    void analyzePlans() {
+        ExplainPlanAnalyzer analyzer = new ExplainPlanAnalyzer(WATCHED_COLUMNS);
+
+        String select = "SELECT\n    \"M\".\"MEMBER_ID\"\nFROM \"PUBLIC\".\"MEMBER\" \"M\"\n    /* PUBLIC.MEMBER.tableScan */\n"
+                + "LEFT OUTER JOIN \"PUBLIC\".\"TEAM\" \"T\"\n    /* PUBLIC.PRIMARY_KEY_2: TEAM_ID = M.TEAM_ID */\n    ON \"M\".\"TEAM_ID\" = \"T\".\"TEAM_ID\"\n"
+                + "WHERE \"M\".\"USERNAME\" = ?1\nORDER BY \"M\".\"AGE\"";
+        String indexed = "SELECT\n    \"M\".\"MEMBER_ID\"\nFROM \"PUBLIC\".\"MEMBER\" \"M\"\n    /* PUBLIC.IDX_MEMBER_USERNAME: USERNAME = ?1 */\n"
+                + "WHERE \"M\".\"USERNAME\" = ?1";
+        String joinedScan = "SELECT\n    \"T\".\"NAME\"\nFROM \"PUBLIC\".\"TEAM\" \"T\"\n    /* PUBLIC.TEAM.tableScan */\n"
+                + "INNER JOIN \"PUBLIC\".\"MEMBER\" \"M\"\n    /* PUBLIC.MEMBER.tableScan */\n    ON 1=1\nWHERE \"M\".\"TEAM_ID\" = \"T\".\"TEAM_ID\"";
+        String fullIndexScan = "SELECT\n    \"M\".\"MEMBER_ID\"\nFROM \"PUBLIC\".\"MEMBER\" \"M\"\n    /* PUBLIC.IDX_MEMBER_USERNAME */\n"
+                + "WHERE LOWER(\"M\".\"USERNAME\") = ?1";
+        String update = "UPDATE \"PUBLIC\".\"MEMBER\"\n    /* PUBLIC.MEMBER.tableScan */\nSET\n    \"USERNAME\" = ?1\nWHERE \"AGE\" >= ?2";
+
+        assertThat(analyzer.fullScans(select)).containsExactly("member.username");
+        assertThat(analyzer.fullScans(joinedScan)).containsExactly("member.team_id");
+        assertThat(analyzer.fullScans(indexed)).isEmpty();
+        assertThat(analyzer.fullScans(fullIndexScan)).containsExactly("member.username");
+        assertThat(analyzer.fullScans(update)).containsExactly("member.age");
+    }
+
+    @Test
+    @DisplayName("/admin/slow-queries : 모양별 통계 조회")
+    void adminEndpoint() throws Exception {
+        Map<String, Object> result = slowQueryController.slowQueries(new MockHttpServletRequest(), 10);
+
+        assertThat(result).containsKeys("maxShapes", "dropped", "shapes");
+    }
+
+    // EXPLAIN 은 백그라운드 스레드에서 실행
+    private SlowQueryShape awaitPlan(String shapeFragment) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            SlowQueryShape shape = slowQueryLog.getShapes(100).stream()
+                    .filter(s -> s.getShape().contains(shapeFragment))
+                    .findFirst().orElse(null);
+            if (shape != null && shape.getPlan() != null) {
+                return shape;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError(shapeFragment + " EXPLAIN 결과 없음");
+    }
+}
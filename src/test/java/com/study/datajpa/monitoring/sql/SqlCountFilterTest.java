@@ -0,0 +1,53 @@
+package com.study.datajpa.monitoring.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlCountFilterTest {
+
+    private final SqlCountingStatementInspector inspector = new SqlCountingStatementInspector();
+
+    @Test
+    @DisplayName("dev 모드 - 요청에서 실행된 SQL 개수를 응답 헤더로 노출")
+    void responseHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlCountFilter(true, 2).doFilter(new MockHttpServletRequest("GET", "/members"), response, (req, res) -> {
+            inspector.inspect("select m.member_id from member m where m.member_id in (?, ?)");
+            inspector.inspect("select t.team_id from team t where t.team_id=?");
+            inspector.inspect("select t.team_id from team t where t.team_id=?");
+            inspector.inspect("insert into team (name, team_id) values (?, ?)");
+            res.getOutputStream().write("ok".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(response.getHeader(SqlCountFilter.HEADER_COUNT)).isEqualTo("4");
+        assertThat(response.getHeader(SqlCountFilter.HEADER_COUNT_BY_TYPE)).isEqualTo("select=3, insert=1");
+        assertThat(response.getHeader(SqlCountFilter.HEADER_N_PLUS_ONE)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+        assertThat(SqlStatementCounter.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("헤더를 끄면 응답은 그대로")
+    void withoutResponseHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlCountFilter(false, 2).doFilter(new MockHttpServletRequest("GET", "/members"), response,
+                (req, res) -> inspector.inspect("select 1"));
+
+        assertThat(response.getHeader(SqlCountFilter.HEADER_COUNT)).isNull();
+    }
+
+    @Test
+    @DisplayName("in 절 파라미터 개수가 달라도 같은 모양")
+    void shape() {
+        assertThat(SqlStatementCounter.shapeOf("select * from member\n where id in (?, ?, ?)"))
+                .isEqualTo(SqlStatementCounter.shapeOf("select * from member where id in (?)"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.study.datajpa.monitoring.sql;
+
+import com.study.datajpa.controller.MemberController;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.TeamRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+class SqlStatementCounterTest {
+
+    @Autowired
+    MemberController memberController;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    WebApplicationContext webApplicationContext;
+
+    @Test
+    @DisplayName("pageList 는 목록 + count 쿼리 2번 이내")
+    void pageListBudget() {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            memberController.pageList(PageRequest.of(0, 3, Sort.by("id")), null);
+
+            SqlStatementStats stats = scope.getStats();
+            assertThat(stats.getTotal()).isLessThanOrEqualTo(2);
+            assertThat(stats.getCount(SqlStatementType.SELECT)).isEqualTo(stats.getTotal());
+            assertThat(stats.getByRepositoryMethod()).containsOnlyKeys("MemberRepository.findAll");
+            assertThat(stats.getSuspectedNPlusOne(2)).isEmpty();
+        }
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("지연 로딩으로 team 을 하나씩 조회하면 N+1 의심, EntityGraph 면 1번")
+    void detectNPlusOne() {
+        // given
+        Team teamA = teamRepository.save(new Team("sqlCounterTeamA"));
+        Team teamB = teamRepository.save(new Team("sqlCounterTeamB"));
+        memberRepository.save(new Member("sqlCounter1", 10, teamA));
+        memberRepository.save(new Member("sqlCounter2", 10, teamB));
+        em.flush();
+        em.clear();
+
+        // when
+        SqlStatementStats lazy;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            // batch fetch 는 영속성 컨텍스트에 이미 있는 프록시끼리만 묶으므로, 하나씩 조회하고 바로 접근하면 여전히 N+1
+            for (String username : List.of("sqlCounter1", "sqlCounter2")) {
+                memberRepository.findListByUsername(username).forEach(member -> member.getTeam().getName());
+            }
+            lazy = scope.getStats();
+        }
+        em.clear();
+        SqlStatementStats entityGraph;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            memberRepository.findMemberEntityGraph().forEach(member -> Optional.ofNullable(member.getTeam()).map(Team::getName));
+            entityGraph = scope.getStats();
+        }
+
+        // then
+        assertThat(lazy.getByRepositoryMethod())
+                .containsEntry("MemberRepository.findListByUsername", 2)
+                .containsEntry(SqlStatementStats.OUTSIDE_REPOSITORY, 2);
+        assertThat(lazy.getSuspectedNPlusOne(2)).hasSize(2); // member 조회 2번, team 지연 로딩 2번
+        assertThat(entityGraph.getTotal()).isEqualTo(1);
+        assertThat(entityGraph.getSuspectedNPlusOne(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비동기 요청(CompletableFuture) - async dispatch 에서 쓴 바디와 SQL 헤더가 응답으로 나감")
+    void asyncRequestWithResponseHeaders() throws Exception {
+        // given
+        Team team = teamRepository.save(new Team("sqlCounterAsyncTeam"));
+        memberRepository.save(new Member("sqlCounterAsync", 10, team)); // findAsyncMemberDto 는 team 과 inner join
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(new SqlCountFilter(true, 5))
+                .build();
+
+        // when
+        MvcResult started = mockMvc.perform(get("/members/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+
+        // then
+        MockHttpServletResponse response = result.getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).contains("sqlCounterAsync");
+        // 조회는 repositoryTaskExecutor 스레드에서 실행되므로 요청의 SQL 개수에는 포함되지 않음
+        assertThat(response.getHeader(SqlCountFilter.HEADER_COUNT)).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("중첩된 범위의 SQL 은 바깥 범위에도 기록")
+    void nestedScope() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            memberRepository.count();
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.open()) {
+                memberRepository.count();
+                assertThat(inner.getStats().getTotal()).isEqualTo(1);
+            }
+            assertThat(outer.getStats().getTotal()).isEqualTo(2);
+        }
+        assertThat(SqlStatementCounter.isActive()).isFalse();
+    }
+}
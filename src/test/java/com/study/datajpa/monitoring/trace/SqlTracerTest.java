@@ -0,0 +1,99 @@
+package com.study.datajpa.monitoring.trace;
+
+import com.study.datajpa.controller.SqlTraceController;
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SqlTracerTest {
+
+    @Autowired
+    SqlTracer sqlTracer; // 설정(yml)대로 만들어진 tracer, 테스트가 끝나면 다시 설치
+
+    @Autowired
+    SqlTraceController sqlTraceController;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @AfterEach
+    void restore() {
+        SqlTracer.install(sqlTracer);
+    }
+
+    @Test
+    @DisplayName("샘플링 비율 1 이면 모든 SQL 을 실행 시간과 함께 기록")
+    void sampleAll() {
+        SqlTracer tracer = new SqlTracer(1.0, Duration.ofHours(1), 16);
+        SqlTracer.install(tracer);
+
+        memberRepository.count();
+
+        List<SqlTraceEntry> recent = ofCurrentThread(tracer.getRecent(10));
+        assertThat(recent).hasSize(1);
+        assertThat(recent.get(0).getSql()).startsWith("select count(");
+        assertThat(recent.get(0).getType()).isEqualTo(SqlStatementType.SELECT);
+        assertThat(recent.get(0).isSlow()).isFalse();
+        assertThat(ofCurrentThread(tracer.getSlow(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("샘플링하지 않아도 느린 SQL 은 기록, 빠른 SQL 은 남기지 않음")
+    void slowStatementsAlwaysCaptured() {
+        SqlTracer fast = new SqlTracer(0, Duration.ofHours(1), 16);
+        SqlTracer.install(fast);
+        memberRepository.count();
+
+        SqlTracer slow = new SqlTracer(0, Duration.ZERO, 16); // 모든 SQL 이 느린 SQL
+        SqlTracer.install(slow);
+        memberRepository.count();
+
+        assertThat(ofCurrentThread(fast.getRecent(10))).isEmpty();
+        assertThat(ofCurrentThread(slow.getSlow(10))).hasSize(1).allMatch(SqlTraceEntry::isSlow);
+        assertThat(ofCurrentThread(slow.getRecent(10))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("링 버퍼는 최근 capacity 건만 최신순으로")
+    void ringBufferKeepsRecent() {
+        SqlTraceBuffer buffer = new SqlTraceBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.add(new SqlTraceEntry("select " + i, 0, 0, false, false, "test", null, null));
+        }
+
+        assertThat(buffer.getCapacity()).isEqualTo(4);
+        assertThat(buffer.getRecorded()).isEqualTo(6);
+        assertThat(buffer.recent(10)).extracting(SqlTraceEntry::getSql)
+                .containsExactly("select 5", "select 4", "select 3", "select 2");
+        assertThat(buffer.recent(2)).extracting(SqlTraceEntry::getSql).containsExactly("select 5", "select 4");
+    }
+
+    @Test
+    @DisplayName("/admin/sql-trace : 최근 기록 조회")
+    void adminEndpoint() throws Exception {
+        Map<String, Object> result = sqlTraceController.sqlTrace(new MockHttpServletRequest(), false, 10);
+
+        assertThat(result).containsEntry("sampleRate", sqlTracer.getSampleRate())
+                .containsEntry("bufferSize", sqlTracer.getBufferSize())
+                .containsKeys("recorded", "slowRecorded", "entries");
+    }
+
+    // 백그라운드 스레드(outbox 발행기 등)의 SQL 은 제외
+    private static List<SqlTraceEntry> ofCurrentThread(List<SqlTraceEntry> entries) {
+        String thread = Thread.currentThread().getName();
+        return entries.stream().filter(entry -> thread.equals(entry.getThread())).collect(Collectors.toList());
+    }
+}
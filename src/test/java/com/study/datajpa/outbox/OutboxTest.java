@@ -0,0 +1,221 @@
+package com.study.datajpa.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.entity.ChangeType;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.repository.MemberJpaRepository;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.TeamRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 / 롤백을 확인해야 하므로 트랜잭션 없이 실행 (다른 테스트와 겹치지 않는 이름, 나이 사용)
+ * 백그라운드 발행기가 먼저 보냈을 수도 있으므로 발행 결과는 테스트 시작 시점의 sink 파일 위치부터 찾음
+ * (sink 파일은 실행마다 이어서 쓰고 DB 는 새로 만들어지므로 이전 실행의 같은 id 가 남아 있을 수 있음)
+ */
+@SpringBootTest
+class OutboxTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    OutboxPublisher outboxPublisher;
+
+    @Autowired
+    FileOutboxSink fileOutboxSink;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("insert / update / delete 는 같은 트랜잭션에서 outbox 에 기록되고 발행기가 sink 로 보냄")
+    void entityChangesArePublished() throws IOException {
+        // given
+        long sinkPosition = sinkSize();
+        String suffix = UUID.randomUUID().toString();
+        Team team = tx(() -> teamRepository.save(new Team("outboxTeam-" + suffix)));
+        Member member = tx(() -> memberRepository.save(new Member("outbox-" + suffix, 951, team)));
+
+        // when
+        tx(() -> {
+            memberRepository.findById(member.getId()).get().setUsername("outbox2-" + suffix);
+            return null;
+        });
+        tx(() -> {
+            memberRepository.deleteById(member.getId());
+            return null;
+        });
+        outboxPublisher.drainOnce();
+
+        // then
+        List<ChangeEvent> memberEvents = publishedEvents(sinkPosition, "Member", member.getId().toString());
+        assertThat(memberEvents).extracting(ChangeEvent::getChangeType)
+                .containsExactly(ChangeType.INSERT, ChangeType.UPDATE, ChangeType.DELETE);
+        assertThat(memberEvents.get(1).getPayload()).contains("username");
+        assertThat(publishedEvents(sinkPosition, "Team", team.getId().toString())).extracting(ChangeEvent::getChangeType)
+                .containsExactly(ChangeType.INSERT);
+        assertThat(unpublishedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("롤백되면 outbox 에도 남지 않음")
+    void rollbackDiscardsEvents() {
+        // given
+        String username = "outboxRollback-" + UUID.randomUUID();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.saveAndFlush(new Member(username, 952));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(memberRepository.findListByUsername(username)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from outbox_event e join member m on e.aggregate_id = cast(m.member_id as varchar) where m.username = ?",
+                Integer.class, username)).isZero();
+    }
+
+    @Test
+    @DisplayName("벌크 수정은 조건과 수정된 row 수를 BULK_UPDATE 로 기록")
+    void bulkUpdateIsRecorded() {
+        // given
+        tx(() -> memberRepository.save(new Member("outboxBulk-" + UUID.randomUUID(), 953)));
+
+        // when
+        int updated = memberRepository.bulkAgePlus(953); // 트랜잭션 없이 호출해도 수정과 기록이 같이 커밋
+
+        // then
+        List<String> payloads = jdbcTemplate.queryForList(
+                "select payload from outbox_event where aggregate_type = 'Member' and change_type = 'BULK_UPDATE' order by outbox_event_id desc",
+                String.class);
+        assertThat(payloads).contains("{\"operation\":\"bulkAgePlus\",\"args\":[953],\"rows\":" + updated + "}");
+    }
+
+    @Test
+    @DisplayName("순수 JPA repository 의 벌크 수정도 같은 트랜잭션에서 BULK_UPDATE 로 기록")
+    void jpaRepositoryBulkUpdateIsRecorded() {
+        // given
+        tx(() -> memberRepository.save(new Member("outboxJpaBulk-" + UUID.randomUUID(), 955)));
+
+        // when
+        int updated = tx(() -> memberJpaRepository.bulkAgePlus(955));
+
+        // then
+        List<String> payloads = jdbcTemplate.queryForList(
+                "select payload from outbox_event where aggregate_type = 'Member' and change_type = 'BULK_UPDATE' order by outbox_event_id desc",
+                String.class);
+        assertThat(payloads).contains("{\"operation\":\"bulkAgePlus\",\"args\":[955],\"rows\":" + updated + "}");
+    }
+
+    @Test
+    @DisplayName("발행된 지 retention(7일)이 지난 이벤트만 삭제, 최근에 발행됐거나 아직 발행 안된 이벤트는 남김")
+    void purgePublished() {
+        // given
+        Member member = tx(() -> memberRepository.save(new Member("outboxPurge-" + UUID.randomUUID(), 954)));
+        outboxPublisher.drainOnce();
+        Long expired = eventId(member);
+        Member recent = tx(() -> memberRepository.save(new Member("outboxPurge-" + UUID.randomUUID(), 954)));
+        outboxPublisher.drainOnce();
+        Member unpublished = tx(() -> memberRepository.save(new Member("outboxPurge-" + UUID.randomUUID(), 954)));
+        jdbcTemplate.update("update outbox_event set published_at = dateadd('DAY', -8, published_at) where outbox_event_id = ?", expired);
+
+        // when
+        int purged = outboxPublisher.purgePublished();
+
+        // then
+        assertThat(purged).isGreaterThanOrEqualTo(1);
+        assertThat(eventCount(expired)).isZero();
+        assertThat(eventCount(eventId(recent))).isOne();
+        assertThat(eventCount(eventId(unpublished))).isOne();
+    }
+
+    @Test
+    @DisplayName("OutboxCursor : 마지막으로 읽은 위치부터, 아직 다 쓰지 않은 줄은 다음에 읽음")
+    void cursorResumesFromPosition(@TempDir Path dir) throws Exception {
+        // given
+        Path file = dir.resolve("changes.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+        sink.publish(List.of(event(1L), event(2L)));
+        OutboxCursor cursor = new OutboxCursor(file, objectMapper, 0);
+
+        // when
+        List<ChangeEvent> first = cursor.poll(10);
+        String third = objectMapper.writeValueAsString(event(3L));
+        Files.write(file, third.substring(0, 10).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        List<ChangeEvent> partial = cursor.poll(10);
+        Files.write(file, (third.substring(10) + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        OutboxCursor resumed = new OutboxCursor(file, objectMapper, cursor.getPosition()); // 저장해둔 위치로 다시 시작
+
+        // then
+        assertThat(first).extracting(ChangeEvent::getId).containsExactly(1L, 2L);
+        assertThat(partial).isEmpty();
+        assertThat(resumed.poll(10)).extracting(ChangeEvent::getId).containsExactly(3L);
+        assertThat(resumed.getPosition()).isEqualTo(Files.size(file));
+    }
+
+    private long sinkSize() throws IOException {
+        Path path = fileOutboxSink.getPath();
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
+
+    private List<ChangeEvent> publishedEvents(long position, String aggregateType, String aggregateId) throws IOException {
+        return new OutboxCursor(fileOutboxSink.getPath(), objectMapper, position).poll(Integer.MAX_VALUE).stream()
+                .filter(event -> aggregateType.equals(event.getAggregateType()) && aggregateId.equals(event.getAggregateId()))
+                .collect(Collectors.toList());
+    }
+
+    private Long eventId(Member member) {
+        return jdbcTemplate.queryForObject("select outbox_event_id from outbox_event where aggregate_type = 'Member' and aggregate_id = ?",
+                Long.class, member.getId().toString());
+    }
+
+    private int eventCount(Long eventId) {
+        return jdbcTemplate.queryForObject("select count(*) from outbox_event where outbox_event_id = ?", Integer.class, eventId);
+    }
+
+    private int unpublishedCount() {
+        return jdbcTemplate.queryForObject("select count(*) from outbox_event where published_at is null", Integer.class);
+    }
+
+    private static ChangeEvent event(long id) {
+        return new ChangeEvent(id, "Member", String.valueOf(id), ChangeType.INSERT, null, null);
+    }
+
+    private <T> T tx(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
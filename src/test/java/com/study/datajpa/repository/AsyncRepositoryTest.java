@@ -0,0 +1,50 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.dto.MemberDto;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @Async 조회는 다른 스레드의 트랜잭션에서 실행되므로 @Transactional 없이 커밋된 데이터로 확인
+ */
+@SpringBootTest
+class AsyncRepositoryTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Test
+    @DisplayName("CompletableFuture 를 반환하는 조회는 여러개를 동시에 실행")
+    void async() throws Exception {
+        // given
+        Team team = teamRepository.save(new Team("asyncTeam"));
+        memberRepository.save(new Member("async1", 8100, team));
+        memberRepository.save(new Member("async2", 8100, team));
+
+        // when
+        CompletableFuture<List<Member>> byUsername = memberRepository.findAsyncByUsername("async1");
+        CompletableFuture<Page<Member>> page = memberRepository.findAsyncPageByAge(8100, PageRequest.of(0, 1));
+        CompletableFuture<List<MemberDto>> dtos = memberRepository.findAsyncMemberDto();
+        CompletableFuture.allOf(byUsername, page, dtos).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(byUsername.get()).extracting(Member::getUsername).containsExactly("async1");
+        assertThat(page.get().getTotalElements()).isEqualTo(2);
+        assertThat(dtos.get()).extracting(MemberDto::getUsername).contains("async1", "async2");
+    }
+}
@@ -0,0 +1,72 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * hibernate.default_batch_fetch_size : 영속성 컨텍스트에 있는 지연 로딩 프록시 / 컬렉션을 in 절로 묶어서 초기화
+ */
+@SpringBootTest
+@Transactional
+class BatchFetchTest {
+
+    private static final int TEAM_COUNT = 5;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        // 팀 5개, 팀마다 회원 2명
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            Team team = new Team("batchFetchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("batchFetch" + i + "-1", 10, team));
+            em.persist(new Member("batchFetch" + i + "-2", 10, team));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Team.class); // 2차 캐시에서 team 을 꺼내면 SQL 이 안 나감
+    }
+
+    @Test
+    @DisplayName("@ManyToOne : 회원 목록의 team 프록시 5개를 in 절 1번으로 초기화")
+    void manyToOne() {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            List<Member> members = em.createQuery("select m from Member m where m.username like 'batchFetch%'", Member.class)
+                    .getResultList();
+            members.forEach(member -> member.getTeam().getName());
+
+            SqlStatementStats stats = scope.getStats();
+            assertThat(members).hasSize(TEAM_COUNT * 2);
+            assertThat(stats.getTotal()).isEqualTo(2); // member 1번 + team 1번 (batch fetch 없으면 1 + 5번)
+        }
+    }
+
+    @Test
+    @DisplayName("@OneToMany : 팀 목록의 members 컬렉션 5개를 in 절 1번으로 초기화")
+    void oneToMany() {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            List<Team> teams = em.createQuery("select t from Team t where t.name like 'batchFetchTeam%'", Team.class)
+                    .getResultList();
+            int memberCount = teams.stream().mapToInt(team -> team.getMembers().size()).sum();
+
+            SqlStatementStats stats = scope.getStats();
+            assertThat(memberCount).isEqualTo(TEAM_COUNT * 2);
+            assertThat(stats.getTotal()).isEqualTo(2); // team 1번 + members 1번 (batch fetch 없으면 1 + 5번)
+        }
+    }
+}
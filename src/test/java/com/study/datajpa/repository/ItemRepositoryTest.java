@@ -0,0 +1,94 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.dto.UpsertResult;
+import com.study.datajpa.entity.Item;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ItemRepositoryTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("save : createdDate 가 채워지므로 한번 저장한 Item 은 새 엔티티가 아님")
+    void save() {
+        Item item = itemRepository.save(new Item(newId(), "A"));
+
+        assertThat(item.getCreatedDate()).isNotNull();
+        assertThat(item.isNew()).isFalse();
+    }
+
+    @Test
+    @DisplayName("upsertAll : 없는 id 는 insert, 있는 id 는 name 수정 (createdDate 는 유지)")
+    void upsertAll() {
+        // given
+        String a = newId();
+        String b = newId();
+        UpsertResult first = itemRepository.upsertAll(List.of(new Item(a, "A"), new Item(b, "B")));
+        Item before = em.find(Item.class, a);
+        em.clear();
+
+        // when
+        String c = newId();
+        UpsertResult second = itemRepository.upsertAll(List.of(new Item(a, "A2"), new Item(b, "B2"), new Item(c, "C")));
+
+        // then
+        assertThat(first.getInserted()).isEqualTo(2);
+        assertThat(first.getUpdated()).isEqualTo(0);
+        assertThat(second.getInserted()).isEqualTo(1);
+        assertThat(second.getUpdated()).isEqualTo(2);
+
+        Item updated = em.find(Item.class, a);
+        assertThat(updated.getName()).isEqualTo("A2");
+        assertThat(updated.getCreatedDate()).isEqualTo(before.getCreatedDate());
+        assertThat(em.find(Item.class, c).getName()).isEqualTo("C");
+    }
+
+    @Test
+    @DisplayName("upsertAll : select 없이 update batch + insert batch, 영속성 컨텍스트에 올리지 않음")
+    void noSelectNoPersistenceContext() {
+        String a = newId();
+        itemRepository.upsertAll(List.of(new Item(a, "A")));
+        em.clear();
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            itemRepository.upsertAll(List.of(new Item(a, "A2"), new Item(newId(), "B"), new Item(newId(), "C")));
+
+            assertThat(scope.getStats().getCount(SqlStatementType.SELECT)).isEqualTo(0);
+        }
+        assertThat(em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("upsertAll : 같은 id 가 여러 번 있으면 마지막 값으로 한번만")
+    void duplicateIds() {
+        String a = newId();
+
+        UpsertResult result = itemRepository.upsertAll(List.of(new Item(a, "A"), new Item(a, "A2")));
+
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(em.find(Item.class, a).getName()).isEqualTo("A2");
+    }
+
+    private String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
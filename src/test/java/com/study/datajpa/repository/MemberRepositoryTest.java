@@ -3,10 +3,13 @@ package com.study.datajpa.repository;
 import com.study.datajpa.dto.MemberDto;
 import com.study.datajpa.entity.Member;
 import com.study.datajpa.entity.Team;
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
 import com.study.datajpa.repository.projections.NestedClosedProjections;
 import com.study.datajpa.repository.projections.UsernameOnly;
 import com.study.datajpa.repository.projections.UsernameOnlyDto;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,9 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -285,6 +291,63 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue(); // 다음 페이지 존재 여부
     }
 
+    @Test
+    @DisplayName("페이징 테스트 - keyset 페이징 (토큰으로 끝까지 넘기면 정렬 조회 결과와 동일)")
+    void keysetPaging() {
+        // given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 10));
+        memberRepository.save(new Member("member3", 20));
+        memberRepository.save(new Member("member4", 10));
+        memberRepository.save(new Member("member5", 30));
+
+        // when
+        List<Long> keysetIds = new ArrayList<>();
+        String token = null;
+        do {
+            KeysetWindow<Member> window = memberRepository.findMemberKeyset(MemberKeysetSort.AGE, token, 2);
+            window.getContent().forEach(m -> keysetIds.add(m.getId()));
+            token = window.getNextToken();
+            assertThat(window.getSize()).isLessThanOrEqualTo(2);
+        } while (token != null);
+
+        // then
+        List<Long> sortedIds = memberRepository.findAll(Sort.by("age", "id")).stream()
+                .map(Member::getId)
+                .collect(Collectors.toList());
+        assertThat(keysetIds).isEqualTo(sortedIds);
+    }
+
+    @Test
+    @DisplayName("페이징 테스트 - keyset 페이징 (정렬값이 null 인 회원은 맨 뒤에 id 순으로, 빠지거나 중복되지 않음)")
+    void keysetPagingWithNullSortValues() {
+        // given
+        memberRepository.save(new Member(null, 10));
+        memberRepository.save(new Member("keysetNull1", 10));
+        memberRepository.save(new Member(null, 20));
+        memberRepository.save(new Member("null", 30)); // "null" 이라는 이름은 null 과 다른 값
+        memberRepository.save(new Member(null, 40));
+
+        // when
+        List<Member> keysetMembers = new ArrayList<>();
+        String token = null;
+        do {
+            KeysetWindow<Member> window = memberRepository.findMemberKeyset(MemberKeysetSort.USERNAME, token, 2);
+            keysetMembers.addAll(window.getContent());
+            token = window.getNextToken();
+        } while (token != null);
+
+        // then
+        List<Long> expectedIds = memberRepository.findAll().stream()
+                .sorted(Comparator.comparing(Member::getUsername, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                        .thenComparing(Member::getId))
+                .map(Member::getId)
+                .collect(Collectors.toList());
+        assertThat(keysetMembers).extracting(Member::getId).isEqualTo(expectedIds);
+        assertThat(keysetMembers).filteredOn(m -> m.getUsername() == null).hasSize(3);
+        assertThat(keysetMembers).extracting(Member::getUsername).contains("null");
+    }
+
     @Test
     @DisplayName("벌크성 수정 쿼리 테스트 - 20살 이상인 경우는 모두 1살씩 증가 시키기")
     void bulkUpdate() {
@@ -431,6 +494,62 @@ class MemberRepositoryTest {
         assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Projections 테스트- id 조회는 엔티티를 영속성 컨텍스트에 올리지 않음")
+    void projectionById() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Member m1 = new Member("m1", 10, teamA);
+        em.persist(m1);
+
+        em.flush();
+        em.clear();
+
+        // when
+        Optional<UsernameOnlyDto> dto = memberRepository.findProjectionById(m1.getId(), UsernameOnlyDto.class);
+        Optional<UsernameOnly> username = memberRepository.findProjectionById(m1.getId(), UsernameOnly.class);
+        Optional<UsernameOnlyDto> notFound = memberRepository.findProjectionById(-1L, UsernameOnlyDto.class);
+
+        // then
+        assertThat(dto.get().getUsername()).isEqualTo("m1");
+        assertThat(username.get().getUsername()).isEqualTo("m1");
+        assertThat(notFound).isEmpty();
+        assertThat(managedEntityCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("DTO 페이징- team 없는 회원도 포함, 엔티티는 영속성 컨텍스트에 올리지 않음")
+    void memberDtoPage() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Member m1 = new Member("dtoPage1", 10, teamA);
+        Member m2 = new Member("dtoPage2", 20);
+        em.persist(m1);
+        em.persist(m2);
+
+        em.flush();
+        em.clear();
+
+        // when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id")));
+
+        // then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+        assertThat(page.getContent().get(0).getUsername()).isEqualTo("dtoPage2");
+        assertThat(page.getContent().get(0).getTeamName()).isNull();
+        assertThat(page.getContent().get(1).getTeamName()).isEqualTo("teamA");
+        assertThat(managedEntityCount()).isEqualTo(0);
+    }
+
+    private int managedEntityCount() {
+        return em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities();
+    }
+
     @Test
     @DisplayName("NativeQuery")
     void nativeQuery() {
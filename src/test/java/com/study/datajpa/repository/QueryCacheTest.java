@@ -0,0 +1,93 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.dto.MemberDto;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿼리 결과 캐시는 트랜잭션 커밋 후에 반영되므로 TransactionTemplate으로 나눠서 실행
+ * Hibernate 통계는 기본으로 꺼져 있으므로(datajpa.cache-stats.statistics) 테스트 전에 켬
+ */
+@SpringBootTest
+class QueryCacheTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics().setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("쿼리 결과 캐시 - 같은 쿼리는 캐시에서, member 변경 후에는 다시 DB에서 조회")
+    void findUsernameList() {
+        // given
+        tx(() -> memberRepository.findUsernameList());
+        long hits = statistics().getQueryCacheHitCount();
+
+        // when
+        tx(() -> memberRepository.findUsernameList());
+
+        // then
+        assertThat(statistics().getQueryCacheHitCount()).isEqualTo(hits + 1);
+
+        // member 추가 -> 캐시된 결과 무효화
+        long misses = statistics().getQueryCacheMissCount();
+        tx(() -> memberRepository.save(new Member("query-cache", 10)));
+        List<String> usernames = tx(() -> memberRepository.findUsernameList());
+        assertThat(usernames).contains("query-cache");
+        assertThat(statistics().getQueryCacheMissCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    @DisplayName("쿼리 결과 캐시 - 벌크 수정 후에는 캐시된 결과를 사용하지 않음")
+    void invalidatedByBulkUpdate() {
+        // given
+        Team team = tx(() -> teamRepository.save(new Team("query-cache-team")));
+        tx(() -> memberRepository.save(new Member("query-cache-dto", 3000, team)));
+        tx(() -> memberRepository.findMemberDto());
+        tx(() -> memberRepository.findMemberDto());
+        long hits = statistics().getQueryCacheHitCount();
+
+        // when
+        tx(() -> memberRepository.bulkAgePlus(3000));
+        List<MemberDto> result = tx(() -> memberRepository.findMemberDto());
+
+        // then
+        assertThat(statistics().getQueryCacheHitCount()).isEqualTo(hits);
+        assertThat(result).extracting(MemberDto::getUsername).contains("query-cache-dto");
+    }
+
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private <T> T tx(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
@@ -0,0 +1,189 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.slowquery.ExplainPlanAnalyzer;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import com.study.datajpa.monitoring.trace.SqlTraceEntry;
+import com.study.datajpa.monitoring.trace.SqlTracer;
+import com.study.datajpa.repository.fetch.MemberFetchPlan;
+import com.study.datajpa.repository.fetch.MemberSpecs;
+import com.study.datajpa.repository.keyset.KeysetWindow;
+import com.study.datajpa.repository.keyset.MemberKeysetSort;
+import com.study.datajpa.repository.projections.UsernameOnly;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿼리 플랜 회귀 테스트 : repository 메소드가 실행하는 SQL 을 모두 EXPLAIN 해서
+ * username / age / team_id 조건을 인덱스 없이 전체 스캔하면 실패 (인덱스 삭제, 인덱스를 못 타는 조건으로 변경 등)
+ *
+ * 조건 없는 전체 조회(findAll, count 등)의 전체 스캔은 정상이므로 통과
+ */
+@SpringBootTest
+@Transactional // 적재한 데이터는 롤백, EXPLAIN 도 같은 트랜잭션(커넥션)에서 실행
+class QueryPlanTest {
+
+    private static final ExplainPlanAnalyzer ANALYZER = new ExplainPlanAnalyzer(List.of("member.username", "member.age", "member.team_id"));
+    private static final int MEMBER_COUNT = 1000;
+    private static final int TEAM_COUNT = 10;
+
+    @Autowired
+    SqlTracer sqlTracer; // 설정(yml)대로 만들어진 tracer, 메소드마다 다시 설치
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    // 빈 테이블이면 DB 가 인덱스보다 전체 스캔을 고를 수 있으므로 데이터를 채우고 EXPLAIN
+    @BeforeEach
+    void seed() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(teamRepository.save(new Team("planTeam" + i)));
+        }
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberRepository.save(new Member("planMember" + i, 10 + i % 50, teams.get(i % TEAM_COUNT)));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("username 조건 조회는 idx_member_username")
+    void usernameQueries() {
+        assertIndexed("findListByUsername", () -> memberRepository.findListByUsername("planMember1"));
+        assertIndexed("findMemberByUsername", () -> memberRepository.findMemberByUsername("planMember1"));
+        assertIndexed("findOptionalByUsername", () -> memberRepository.findOptionalByUsername("planMember1"));
+        assertIndexed("findByUsernameAndAgeGreaterThan", () -> memberRepository.findByUsernameAndAgeGreaterThan("planMember1", 5));
+        assertIndexed("findUser", () -> memberRepository.findUser("planMember1", 11));
+        assertIndexed("findByNames", () -> memberRepository.findByNames(List.of("planMember1", "planMember2", "planMember3")));
+        assertIndexed("findEntityGraphByUsername", () -> memberRepository.findEntityGraphByUsername("planMember1"));
+        assertIndexed("findReadOnlyByUsername", () -> memberRepository.findReadOnlyByUsername("planMember1"));
+        assertIndexed("findLockByUsername", () -> memberRepository.findLockByUsername("planMember1"));
+        assertIndexed("findProjectionsByUsername", () -> memberRepository.findProjectionsByUsername("planMember1", UsernameOnly.class));
+        assertIndexed("findProjections2ByUsername", () -> memberRepository.findProjections2ByUsername("planMember1"));
+        assertIndexed("findByNativeQuery", () -> memberRepository.findByNativeQuery("planMember1"));
+        assertIndexed("findMemberDtos(usernameEquals)", () -> memberRepository.findMemberDtos(MemberSpecs.usernameEquals("planMember1"), PageRequest.of(0, 10), MemberFetchPlan.PROJECTION));
+    }
+
+    @Test
+    @DisplayName("age 조건 조회 / 벌크 수정은 idx_member_age")
+    void ageQueries() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "username"));
+        assertIndexed("findPageByAge", () -> memberRepository.findPageByAge(10, PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "username"))));
+        assertIndexed("findSliceByAge", () -> memberRepository.findSliceByAge(10, page));
+        assertIndexed("findListByAge", () -> memberRepository.findListByAge(10, page));
+        assertIndexed("countByAge", () -> memberRepository.countByAge(10));
+        assertIndexed("bulkAgePlus", () -> memberRepository.bulkAgePlus(59));
+        for (MemberFetchPlan plan : MemberFetchPlan.values()) {
+            assertIndexed("findMemberDtos(ageEquals, " + plan + ")", () -> memberRepository.findMemberDtos(MemberSpecs.ageEquals(10), PageRequest.of(1, 10), plan));
+        }
+    }
+
+    @Test
+    @DisplayName("team 과의 join 은 team 쪽에서 들어오면 idx_member_team_id")
+    void teamJoinQueries() {
+        assertIndexed("findMemberDto", () -> memberRepository.findMemberDto());
+        assertIndexed("findMemberDtoPage", () -> memberRepository.findMemberDtoPage(PageRequest.of(0, 10)));
+        assertIndexed("findMemberByAge", () -> memberRepository.findMemberByAge(10, PageRequest.of(1, 10)));
+        assertIndexed("findMemberFasterByAge", () -> memberRepository.findMemberFasterByAge(10, PageRequest.of(1, 10)));
+        assertIndexed("findAll", () -> memberRepository.findAll());
+        assertIndexed("findMemberEntityGraph", () -> memberRepository.findMemberEntityGraph());
+    }
+
+    @Test
+    @DisplayName("keyset 페이징의 다음 페이지 조건은 정렬 컬럼 인덱스 범위 스캔")
+    void keysetQueries() {
+        for (MemberKeysetSort sort : MemberKeysetSort.values()) {
+            String token = memberRepository.findMemberKeyset(sort, null, 10).getNextToken();
+            assertIndexed("findMemberKeyset(" + sort + ")", () -> {
+                KeysetWindow<Member> window = memberRepository.findMemberKeyset(sort, token, 10);
+                assertThat(window.getContent()).hasSize(10);
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("MemberJpaRepository (순수 JPA) 조회 / 벌크 수정")
+    void memberJpaRepositoryQueries() {
+        assertIndexed("MemberJpaRepository.findByUsernameAndAgeGreaterThan", () -> memberJpaRepository.findByUsernameAndAgeGreaterThan("planMember1", 5));
+        assertIndexed("MemberJpaRepository.findByPage", () -> memberJpaRepository.findByPage(10, 10, 10));
+        assertIndexed("MemberJpaRepository.totalCount", () -> memberJpaRepository.totalCount(10));
+        assertIndexed("MemberJpaRepository.bulkAgePlus", () -> memberJpaRepository.bulkAgePlus(59));
+        assertIndexed("MemberJpaRepository.findAll", () -> memberJpaRepository.findAll());
+        assertIndexed("MemberJpaRepository.count", () -> memberJpaRepository.count());
+    }
+
+    @Test
+    @DisplayName("인덱스를 못 타는 조건이면 실패 (테스트가 실제로 잡아내는지 확인)")
+    void detectsTableScan() {
+        List<String> fullScans = fullScansOf(List.of("select m.member_id from member m where lower(m.username) = ?"));
+
+        assertThat(fullScans).containsExactly("member.username");
+    }
+
+    // 조회를 실행하고 실행된 SQL 을 모두 EXPLAIN, 감시 대상 컬럼을 전체 스캔한 SQL 이 있으면 실패
+    private void assertIndexed(String description, Runnable query) {
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions(); // 쿼리 캐시에서 나오면 SQL 이 없음
+        SqlTracer tracer = new SqlTracer(1.0, Duration.ofHours(1), 64);
+        SqlTracer.install(tracer);
+        try {
+            query.run();
+            em.flush();
+        } finally {
+            SqlTracer.install(sqlTracer);
+        }
+
+        String thread = Thread.currentThread().getName(); // 백그라운드 스레드(outbox 발행기 등)의 SQL 은 제외
+        List<String> sqls = tracer.getRecent(64).stream()
+                .filter(entry -> thread.equals(entry.getThread()))
+                .map(SqlTraceEntry::getSql)
+                .collect(Collectors.toList());
+        assertThat(sqls).as(description + " 실행된 SQL").isNotEmpty();
+        for (String shape : sqls.stream().map(SqlStatementCounter::shapeOf).distinct().collect(Collectors.toList())) {
+            String plan = explain(shape);
+            assertThat(ANALYZER.fullScans(plan)).as("%s 전체 스캔%n%s%n%s", description, shape, plan).isEmpty();
+        }
+    }
+
+    private List<String> fullScansOf(List<String> sqls) {
+        return sqls.stream().flatMap(sql -> ANALYZER.fullScans(explain(sql)).stream()).collect(Collectors.toList());
+    }
+
+    private String explain(String sql) {
+        SqlStatementType type = SqlStatementType.of(sql);
+        if (type != SqlStatementType.SELECT && type != SqlStatementType.UPDATE && type != SqlStatementType.DELETE) {
+            return ""; // insert, 시퀀스 조회 등
+        }
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
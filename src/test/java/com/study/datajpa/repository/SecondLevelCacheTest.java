@@ -0,0 +1,161 @@
+package com.study.datajpa.repository;
+
+import com.study.datajpa.controller.CacheStatsController;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.monitoring.CacheStatisticsReader;
+import com.study.datajpa.service.MemberBulkIngestService;
+import com.study.datajpa.service.MemberDataFormat;
+import com.study.datajpa.service.MemberExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 2차 캐시는 트랜잭션 커밋 후에 반영되므로 테스트 전체를 @Transactional로 묶지 않고 TransactionTemplate으로 나눠서 실행
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final String MEMBER_CACHE = "com.study.datajpa.entity.Member";
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    MemberBulkIngestService memberBulkIngestService;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    CacheStatisticsReader cacheStatisticsReader;
+
+    @Autowired
+    CacheStatsController cacheStatsController;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("2차 캐시 - 두번째 조회부터 캐시에서 가져옴")
+    void cacheHit() {
+        // given
+        Long id = tx(() -> memberRepository.save(new Member("cached", 10)).getId());
+        tx(() -> memberRepository.findById(id));
+        long hitsBefore = hits();
+
+        // when
+        Member member = tx(() -> memberRepository.findById(id).get());
+
+        // then
+        assertThat(member.getUsername()).isEqualTo("cached");
+        assertThat(emf.getCache().contains(Member.class, id)).isTrue();
+        assertThat(hits()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    @DisplayName("2차 캐시 - 벌크 수정(MemberRepository) 후에는 캐시가 비워져서 변경된 값 조회")
+    void evictedAfterBulkUpdate() {
+        // given (다른 테스트 데이터에 영향 주지 않도록 큰 나이 사용)
+        Long id = tx(() -> memberRepository.save(new Member("bulk-cached", 1000)).getId());
+        tx(() -> memberRepository.findById(id));
+        assertThat(emf.getCache().contains(Member.class, id)).isTrue();
+
+        // when
+        tx(() -> memberRepository.bulkAgePlus(1000));
+
+        // then
+        assertThat(emf.getCache().contains(Member.class, id)).isFalse();
+        assertThat(tx(() -> memberRepository.findById(id).get().getAge())).isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("2차 캐시 - 벌크 수정(MemberJpaRepository) 후에는 캐시가 비워져서 변경된 값 조회")
+    void evictedAfterJpaBulkUpdate() {
+        // given
+        Long id = tx(() -> memberJpaRepository.save(new Member("jpa-bulk-cached", 2000)).getId());
+        tx(() -> memberJpaRepository.findById(id));
+        assertThat(emf.getCache().contains(Member.class, id)).isTrue();
+
+        // when
+        tx(() -> memberJpaRepository.bulkAgePlus(2000));
+
+        // then
+        assertThat(emf.getCache().contains(Member.class, id)).isFalse();
+        assertThat(tx(() -> memberJpaRepository.find(id).getAge())).isEqualTo(2001);
+    }
+
+    @Test
+    @DisplayName("2차 캐시 - 내보내기(전체 스트리밍 조회)는 읽은 회원을 캐시에 넣지 않음")
+    void exportBypassesCache() throws Exception {
+        // given
+        Long id = tx(() -> memberRepository.save(new Member("export-uncached", 3000)).getId());
+        emf.getCache().evict(Member.class);
+        long putsBefore = puts();
+
+        // when
+        long rows = memberExportService.export(MemberDataFormat.NDJSON, OutputStream.nullOutputStream());
+
+        // then
+        assertThat(rows).isPositive();
+        assertThat(puts()).isEqualTo(putsBefore);
+        assertThat(emf.getCache().contains(Member.class, id)).isFalse();
+    }
+
+    @Test
+    @DisplayName("2차 캐시 - 대량 등록한 회원은 커밋 후에도 캐시에 넣지 않음")
+    void ingestBypassesCache() {
+        // given
+        long putsBefore = puts();
+        String username = "ingest-uncached-" + UUID.randomUUID();
+
+        // when
+        memberBulkIngestService.ingest(Stream.of(new Member(username, 3001), new Member(username, 3001)));
+
+        // then
+        assertThat(puts()).isEqualTo(putsBefore);
+        assertThat(tx(() -> memberRepository.findListByUsername(username))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("/admin/cache/stats 는 localhost 에서만 조회")
+    void endpoint() throws Exception {
+        assertThat(cacheStatsController.cacheStats(new MockHttpServletRequest())).containsKeys("regions", "queries");
+
+        MockHttpServletRequest remote = new MockHttpServletRequest();
+        remote.setRemoteAddr("10.0.0.1");
+        assertThatThrownBy(() -> cacheStatsController.cacheStats(remote))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private long hits() {
+        return (Long) cacheStatisticsReader.readRegions().get(MEMBER_CACHE).get("CacheHits");
+    }
+
+    private long puts() {
+        return (Long) cacheStatisticsReader.readRegions().get(MEMBER_CACHE).get("CachePuts");
+    }
+
+    private <T> T tx(java.util.function.Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
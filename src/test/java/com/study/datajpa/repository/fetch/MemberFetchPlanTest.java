@@ -0,0 +1,128 @@
+package com.study.datajpa.repository.fetch;
+
+import com.study.datajpa.controller.MemberController;
+import com.study.datajpa.dto.MemberDto;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.entity.Team;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementStats;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberFetchPlanTest {
+
+    private static final int AGE = 915; // 다른 테스트 데이터와 겹치지 않는 나이
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberController memberController;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        // 팀 3개, 회원 4명 (1명은 팀 없음)
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("fetchPlanTeam" + i);
+            em.persist(team);
+            em.persist(new Member("fetchPlan" + i, AGE, team));
+        }
+        em.persist(new Member("fetchPlan3", AGE));
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Team.class); // 2차 캐시에서 team 을 꺼내면 SQL 수가 달라짐
+    }
+
+    @Test
+    @DisplayName("LAZY : member 1번 + team 지연 로딩 1번 (default_batch_fetch_size 로 3개를 in 절 한 번에)")
+    void lazy() {
+        SqlStatementStats stats = execute(MemberFetchPlan.LAZY);
+
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getSuspectedNPlusOne(2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TEAM_JOIN : fetch join 1번")
+    void teamJoin() {
+        assertThat(execute(MemberFetchPlan.TEAM_JOIN).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TEAM_BATCH : member 1번 + team in 절 1번")
+    void teamBatch() {
+        assertThat(execute(MemberFetchPlan.TEAM_BATCH).getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("PROJECTION : 필요한 컬럼만 1번, 영속성 컨텍스트에 엔티티 없음")
+    void projection() {
+        assertThat(execute(MemberFetchPlan.PROJECTION).getTotal()).isEqualTo(1);
+        assertThat(em.contains(memberRepository.findListByUsername("fetchPlan0").get(0))).isTrue(); // 비교용 : 엔티티 조회는 올라감
+    }
+
+    @Test
+    @DisplayName("plan 과 관계없이 같은 결과, 페이지가 다 차면 count 쿼리 1번 추가")
+    void sameResultForEveryPlan() {
+        for (MemberFetchPlan plan : MemberFetchPlan.values()) {
+            em.clear();
+            Page<MemberDto> page;
+            SqlStatementStats stats;
+            try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+                page = memberRepository.findMemberDtos(MemberSpecs.ageEquals(AGE), PageRequest.of(0, 2, Sort.by("username")), plan);
+                stats = scope.getStats();
+            }
+
+            assertThat(page.getTotalElements()).isEqualTo(4);
+            assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("fetchPlan0", "fetchPlan1");
+            assertThat(page.getContent()).extracting(MemberDto::getTeamName).containsExactly("fetchPlanTeam0", "fetchPlanTeam1");
+            assertThat(stats.getByRepositoryMethod()).containsEntry("MemberRepository.findMemberDtos", stats.getTotal());
+        }
+    }
+
+    @Test
+    @DisplayName("컨트롤러 : plan 파라미터는 화이트리스트, 없는 plan / 정렬 속성은 400")
+    void controllerWhitelist() {
+        Page<MemberDto> page = memberController.pageDtoList(PageRequest.of(0, 10, Sort.by("id")), "team-batch", AGE, null);
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(memberController.pageDtoList(PageRequest.of(0, 10), "TEAM_JOIN", AGE, "fetchPlan3").getContent())
+                .extracting(MemberDto::getTeamName)
+                .containsExactly((String) null);
+
+        assertThatThrownBy(() -> memberController.pageDtoList(PageRequest.of(0, 10), "team; drop table member", AGE, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> memberController.pageDtoList(PageRequest.of(0, 10, Sort.by("password")), "lazy", AGE, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private SqlStatementStats execute(MemberFetchPlan plan) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            List<MemberDto> result = memberRepository.findMemberDtos(MemberSpecs.ageEquals(AGE), PageRequest.of(0, 10, Sort.by("id")), plan).getContent();
+            assertThat(result.stream().map(MemberDto::getTeamName).collect(Collectors.toList()))
+                    .containsExactly("fetchPlanTeam0", "fetchPlanTeam1", "fetchPlanTeam2", null);
+            return scope.getStats();
+        }
+    }
+}
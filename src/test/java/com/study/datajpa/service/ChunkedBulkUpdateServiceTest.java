@@ -0,0 +1,109 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.BulkUpdateJob;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.BulkUpdateJobRepository;
+import com.study.datajpa.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 청크마다 커밋하므로 @Transactional 없이 실행
+ * (다른 테스트 데이터와 겹치지 않도록 나이 5000 이상 사용)
+ */
+@SpringBootTest
+class ChunkedBulkUpdateServiceTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    @Autowired
+    ChunkedBulkUpdateService chunkedBulkUpdateService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    BulkUpdateJobRepository bulkUpdateJobRepository;
+
+    @Test
+    @DisplayName("청크로 나눠도 결과는 한번에 실행한 bulkAgePlus 와 같음 (age >= 조건인 회원만 정확히 1 증가)")
+    void sameAsSingleStatement() {
+        // given
+        List<Member> members = saveMembers("chunked", 5000, 30);
+
+        // when
+        BulkUpdateJob job = chunkedBulkUpdateService.bulkAgePlus(jobId(), 5015, CHUNK_SIZE, progress -> { });
+
+        // then
+        assertThat(job.isCompleted()).isTrue();
+        assertThat(job.getChunks()).isGreaterThan(1);
+        assertThat(ages(members)).isEqualTo(members.stream()
+                .map(member -> member.getAge() >= 5015 ? member.getAge() + 1 : member.getAge())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("중간에 실패해도 같은 jobId 로 다시 실행하면 마지막 커밋된 청크 다음부터 이어서 처리")
+    void resume() {
+        // given
+        List<Member> members = saveMembers("resume", 6000, 30);
+        String jobId = jobId();
+        List<Long> progress = new ArrayList<>();
+        assertThatThrownBy(() -> chunkedBulkUpdateService.bulkAgePlus(jobId, 6000, CHUNK_SIZE, job -> {
+            progress.add(job.getLastProcessedId());
+            if (progress.size() == 2) {
+                throw new IllegalStateException("crash");
+            }
+        })).hasMessage("crash");
+        BulkUpdateJob crashed = bulkUpdateJobRepository.findById(jobId).get();
+        assertThat(crashed.getChunks()).isEqualTo(2);
+        assertThat(crashed.isCompleted()).isFalse();
+
+        // when
+        BulkUpdateJob job = chunkedBulkUpdateService.bulkAgePlus(jobId, 6000, CHUNK_SIZE, p -> progress.add(p.getLastProcessedId()));
+
+        // then
+        assertThat(job.isCompleted()).isTrue();
+        assertThat(job.getUpdatedRows()).isGreaterThanOrEqualTo(30);
+        assertThat(progress).isSorted().doesNotHaveDuplicates();
+        assertThat(ages(members)).isEqualTo(members.stream().map(m -> m.getAge() + 1).collect(Collectors.toList())); // 모두 정확히 한번씩 증가
+    }
+
+    @Test
+    @DisplayName("같은 jobId 로 다른 조건은 실행 불가")
+    void differentParameters() {
+        String jobId = jobId();
+        chunkedBulkUpdateService.bulkAgePlus(jobId, 7000, CHUNK_SIZE, job -> { });
+
+        assertThatThrownBy(() -> chunkedBulkUpdateService.bulkAgePlus(jobId, 7001, CHUNK_SIZE, job -> { }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Member> saveMembers(String prefix, int baseAge, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(memberRepository.save(new Member(prefix + i, baseAge + i)));
+        }
+        return members;
+    }
+
+    private List<Integer> ages(List<Member> members) {
+        return members.stream()
+                .map(member -> memberRepository.findById(member.getId()).get().getAge())
+                .collect(Collectors.toList());
+    }
+
+    private static String jobId() {
+        return "test-" + UUID.randomUUID();
+    }
+}
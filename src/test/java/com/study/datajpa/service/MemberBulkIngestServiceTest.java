@@ -0,0 +1,140 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.dto.BulkIngestResult;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.monitoring.sql.SqlStatementCounter;
+import com.study.datajpa.monitoring.sql.SqlStatementStats;
+import com.study.datajpa.monitoring.sql.SqlStatementType;
+import com.study.datajpa.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest
+@Transactional // 테스트 후 롤백 (요청도 같은 스레드에서 실행되므로 테스트 트랜잭션에 참여)
+class MemberBulkIngestServiceTest {
+
+    @Autowired
+    MemberBulkIngestService memberBulkIngestService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    WebApplicationContext webApplicationContext;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Value("${datajpa.ingest.flush-size}")
+    int flushSize;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("NDJSON 등록 - 한 줄에 한 명, 빈 줄은 건너뛰고 등록한 수를 반환")
+    void ingestNdjson() {
+        // given
+        String body = "{\"username\":\"ingestNdjson1\",\"age\":7300}\n"
+                + "\n"
+                + "{\"username\":\"ingestNdjson2\",\"age\":7301}\n";
+
+        // when
+        BulkIngestResult result = memberBulkIngestService.ingest(inputStream(body), MemberDataFormat.NDJSON);
+
+        // then
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(memberRepository.findListByUsername("ingestNdjson1")).extracting(Member::getAge).containsExactly(7300);
+        assertThat(memberRepository.findListByUsername("ingestNdjson2")).extracting(Member::getAge).containsExactly(7301);
+    }
+
+    @Test
+    @DisplayName("CSV 등록 - 헤더는 건너뛰고 등록한 수를 응답")
+    void ingestCsvRequest() throws Exception {
+        // given
+        String body = MemberDataFormat.CSV_HEADER + "\n"
+                + "ingestCsv1,7310\n"
+                + "\"ingestCsv,2\",7311\n"
+                + "ingestCsv3,7312\n";
+
+        // when & then
+        mockMvc.perform(post("/members/bulk").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(3));
+        assertThat(memberRepository.findListByUsername("ingestCsv,2")).extracting(Member::getAge).containsExactly(7311);
+    }
+
+    @Test
+    @DisplayName("잘못된 줄이 있으면 400")
+    void malformedLine() throws Exception {
+        mockMvc.perform(post("/members/bulk").contentType("application/x-ndjson")
+                        .content("{\"username\":\"ingestBad1\",\"age\":7320}\n{\"username\":"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/members/bulk").contentType("text/csv")
+                        .content(MemberDataFormat.CSV_HEADER + "\ningestBad2,7321\ningestBad3,not-a-number\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("flush-size 마다 insert 를 JDBC batch 로 보내고 영속성 컨텍스트를 비움")
+    void batchedAndCleared() {
+        // given
+        int rows = flushSize * 2 + flushSize / 2;
+        Session session = em.unwrap(Session.class);
+        List<Integer> managedEntities = new ArrayList<>(); // 다음 회원을 읽는 시점의 영속성 컨텍스트 크기
+
+        // when
+        BulkIngestResult result;
+        SqlStatementStats stats;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            result = memberBulkIngestService.ingest(IntStream.range(0, rows)
+                    .mapToObj(i -> {
+                        managedEntities.add(session.getStatistics().getEntityCount());
+                        return new Member("ingestBatch" + i, 7330);
+                    }));
+            stats = scope.getStats();
+        }
+
+        // then
+        log.info("rows={}, sql={}", rows, stats);
+        assertThat(result.getRows()).isEqualTo(rows);
+        assertThat(managedEntities.get(flushSize - 1)).isEqualTo(flushSize - 1);
+        assertThat(managedEntities.get(flushSize)).isZero(); // flush-size 건 저장 후 clear
+        assertThat(managedEntities.get(flushSize * 2)).isZero();
+        assertThat(managedEntities).allMatch(count -> count < flushSize);
+        assertThat(stats.getCount(SqlStatementType.INSERT)).isEqualTo(3); // flush 마다 insert batch 하나 (건마다 보내면 rows 번)
+        assertThat(memberRepository.countByAge(7330)).isEqualTo(rows);
+    }
+
+    private static ByteArrayInputStream inputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
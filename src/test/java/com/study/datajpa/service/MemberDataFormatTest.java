@@ -0,0 +1,67 @@
+package com.study.datajpa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.dto.MemberIngestDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberDataFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("CSV 값 - 쉼표, 큰따옴표, 줄바꿈이 있을 때만 감싸고 null 은 빈 값")
+    void csvField() {
+        assertThat(MemberDataFormat.csvField("member1")).isEqualTo("member1");
+        assertThat(MemberDataFormat.csvField(null)).isEqualTo("");
+        assertThat(MemberDataFormat.csvField("")).isEqualTo("\"\"");
+        assertThat(MemberDataFormat.csvField("kim,jiwon")).isEqualTo("\"kim,jiwon\"");
+        assertThat(MemberDataFormat.csvField("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(MemberDataFormat.csvField("line1\nline2")).isEqualTo("\"line1\nline2\"");
+    }
+
+    @Test
+    @DisplayName("CSV 등록 - 감싼 값 안의 쉼표, 큰따옴표, 줄바꿈과 null 을 그대로 읽음")
+    void parseCsv() {
+        String body = MemberDataFormat.CSV_HEADER + "\n"
+                + "member1,10\n"
+                + "\"kim,jiwon\",20\n"
+                + "\"say \"\"hi\"\"\",30\n"
+                + "\"line1\nline2\",40\n"
+                + ",50\n"
+                + "\"\",60\n";
+
+        List<MemberIngestDto> members = parseAll(MemberDataFormat.CSV, body);
+
+        assertThat(members).extracting(MemberIngestDto::getUsername)
+                .containsExactly("member1", "kim,jiwon", "say \"hi\"", "line1\nline2", null, "");
+        assertThat(members).extracting(MemberIngestDto::getAge)
+                .containsExactly(10, 20, 30, 40, 50, 60);
+    }
+
+    @Test
+    @DisplayName("CSV 등록 - 값 개수가 다르거나 큰따옴표가 닫히지 않으면 실패")
+    void parseInvalidCsv() {
+        assertThatThrownBy(() -> MemberDataFormat.CSV.parse("kim,jiwon,20", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MemberDataFormat.CSV.parse("\"kim,20", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MemberDataFormat.CSV.parse("\"kim\"x,20", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<MemberIngestDto> parseAll(MemberDataFormat format, String body) {
+        return format.records(new BufferedReader(new StringReader(body)))
+                .map(record -> format.parse(record, objectMapper))
+                .filter(dto -> dto != null)
+                .collect(Collectors.toList());
+    }
+}
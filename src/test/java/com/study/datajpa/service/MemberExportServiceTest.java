@@ -0,0 +1,155 @@
+package com.study.datajpa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.datajpa.dto.MemberIngestDto;
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@Transactional // 대량 데이터를 넣으므로 테스트 후 롤백
+class MemberExportServiceTest {
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    MemberBulkIngestService memberBulkIngestService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Value("${datajpa.export.detach-interval}")
+    int detachInterval;
+
+    @Test
+    @DisplayName("내보내기 - 데이터가 늘어나도 영속성 컨텍스트에 남는 엔티티 수는 detach-interval 이하, 힙 사용량도 일정")
+    void exportKeepsPersistenceContextBounded() throws IOException {
+        // given
+        ingest(5_000);
+        ExportProbe small = export(MemberDataFormat.NDJSON);
+
+        ingest(20_000);
+        long heapBefore = usedHeapAfterGc();
+        ExportProbe large = export(MemberDataFormat.CSV);
+        long retainedHeap = usedHeapAfterGc() - heapBefore;
+
+        // then
+        log.info("small: rows={}, maxManagedEntities={}", small.rows, small.maxManagedEntities);
+        log.info("large: rows={}, maxManagedEntities={}, retainedHeap={}KB", large.rows, large.maxManagedEntities, retainedHeap / 1024);
+
+        assertThat(small.rows).isEqualTo(small.lines);
+        assertThat(large.rows).isEqualTo(large.lines - 1); // csv 헤더
+        assertThat(large.rows).isEqualTo(memberRepository.count());
+        assertThat(large.rows).isGreaterThanOrEqualTo(small.rows + 20_000);
+
+        assertThat(small.maxManagedEntities).isLessThanOrEqualTo(detachInterval);
+        assertThat(large.maxManagedEntities).isLessThanOrEqualTo(detachInterval);
+        assertThat(retainedHeap).isLessThan(2 * 1024 * 1024); // 2만5천명을 영속성 컨텍스트에 들고 있으면 약 10MB
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기 - 쉼표, 큰따옴표, 줄바꿈이 들어간 이름과 null 이름도 다시 읽으면 같은 값")
+    void csvRoundTrip() throws IOException {
+        // given
+        List<String> usernames = Arrays.asList("kim,jiwon", "say \"hi\"", "line1\nline2", "", null);
+        for (int i = 0; i < usernames.size(); i++) {
+            memberRepository.save(new Member(usernames.get(i), 7100 + i));
+        }
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = memberExportService.export(MemberDataFormat.CSV, out);
+
+        // then
+        ObjectMapper objectMapper = new ObjectMapper();
+        BufferedReader reader = new BufferedReader(new StringReader(out.toString(StandardCharsets.UTF_8)));
+        List<MemberIngestDto> members = MemberDataFormat.CSV.records(reader)
+                .map(record -> MemberDataFormat.CSV.parse(record, objectMapper))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        assertThat(members).hasSize((int) rows);
+        assertThat(members).filteredOn(member -> member.getAge() >= 7100 && member.getAge() < 7100 + usernames.size())
+                .extracting(MemberIngestDto::getUsername)
+                .containsExactlyInAnyOrderElementsOf(usernames);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private void ingest(int count) {
+        memberBulkIngestService.ingest(IntStream.range(0, count).mapToObj(i -> new Member("export" + i, i % 100)));
+    }
+
+    private ExportProbe export(MemberDataFormat format) throws IOException {
+        ExportProbe probe = new ExportProbe(em.unwrap(Session.class));
+        probe.rows = memberExportService.export(format, probe);
+        return probe;
+    }
+
+    /**
+     * 응답 대신 사용하는 OutputStream
+     * 데이터를 버리면서 줄 수와, 쓰는 시점마다 영속성 컨텍스트에 관리중인 엔티티 수의 최대값을 기록
+     */
+    static class ExportProbe extends OutputStream {
+
+        private final Session session;
+        long rows;
+        long lines;
+        int maxManagedEntities;
+
+        ExportProbe(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+            maxManagedEntities = Math.max(maxManagedEntities, session.getStatistics().getEntityCount());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크마다 다른 스레드(트랜잭션)에서 조회하므로 @Transactional 없이 실행
+ * chunkSize 를 작게 주려고 서비스를 직접 생성 (프로퍼티를 바꾸면 새 컨텍스트가 뜨면서 DB 를 다시 만듦)
+ */
+@SpringBootTest
+class MemberNameQueryServiceTest {
+
+    private static final int CHUNK_SIZE = 4;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final Set<String> chunkThreads = ConcurrentHashMap.newKeySet();
+
+    // 청크를 실행한 스레드 이름을 기록하는 executor
+    private final AsyncTaskExecutor recordingExecutor = new TaskExecutorAdapter(task -> {
+        Thread thread = new Thread(() -> {
+            chunkThreads.add(Thread.currentThread().getName());
+            task.run();
+        }, "in-list-" + UUID.randomUUID());
+        thread.start();
+    });
+
+    private MemberNameQueryService service() {
+        return new MemberNameQueryService(memberRepository, recordingExecutor, CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("chunkSize 를 넘으면 나눠서 병렬 실행, 중복 / null / 없는 이름은 결과에 영향 없음")
+    void chunkedInParallel() {
+        // given
+        List<String> names = saveMembers(10);
+        List<String> query = new ArrayList<>(names);
+        query.addAll(names.subList(0, 3)); // 중복
+        query.add(null);
+        query.add("inList-unknown");
+
+        // when
+        List<Member> result = service().findByNames(query);
+
+        // then : 중복 제거 후 11개 이름 -> 청크 3개
+        assertThat(result).extracting(Member::getUsername).containsExactlyInAnyOrderElementsOf(names);
+        assertThat(chunkThreads).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("chunkSize 이하이면 호출한 스레드에서 한번에 실행")
+    void singleChunk() {
+        List<String> names = saveMembers(CHUNK_SIZE);
+
+        assertThat(service().findByNames(names)).hasSize(CHUNK_SIZE);
+        assertThat(service().findByNames(List.of())).isEmpty();
+        assertThat(chunkThreads).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 청크를 순서대로 같은 트랜잭션에서 실행 (커밋 안 된 회원도 보임)")
+    void insideTransaction() {
+        List<Member> result = new TransactionTemplate(transactionManager).execute(status -> {
+            List<String> names = saveMembers(10);
+            List<Member> members = service().findByNames(names);
+            status.setRollbackOnly();
+            return members;
+        });
+
+        assertThat(result).hasSize(10);
+        assertThat(chunkThreads).isEmpty();
+    }
+
+    @Test
+    @DisplayName("in 절 파라미터 padding : 5 ~ 8개는 같은 쿼리 플랜을 재사용")
+    void parameterPadding() {
+        List<String> names = saveMembers(8);
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true); // 기본은 꺼져 있음 (datajpa.cache-stats.statistics)
+        memberRepository.findByNames(names.subList(0, 5));
+        long missesBefore = statistics.getQueryPlanCacheMissCount();
+
+        for (int size = 5; size <= 8; size++) {
+            assertThat(memberRepository.findByNames(names.subList(0, size))).hasSize(size);
+        }
+
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(missesBefore);
+    }
+
+    private List<String> saveMembers(int count) {
+        String prefix = "inList-" + UUID.randomUUID() + "-";
+        List<Member> members = IntStream.range(0, count)
+                .mapToObj(i -> new Member(prefix + i, 10))
+                .collect(Collectors.toList());
+        return memberRepository.saveAll(members).stream()
+                .map(Member::getUsername)
+                .collect(Collectors.toList());
+    }
+}
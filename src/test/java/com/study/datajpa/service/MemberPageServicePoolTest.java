@@ -0,0 +1,96 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.paging.TotalCountMode;
+import com.study.datajpa.repository.paging.TotalCountPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커넥션 풀이 작을 때 ASYNC count 가 커넥션을 기다리다 멈추지 않는지 확인
+ * (목록 조회가 트랜잭션으로 커넥션을 잡은 채 count 를 기다리면 풀이 바닥나서 connection-timeout 으로 실패)
+ * 공용 DB 의 테이블을 다시 만들지 않도록 in-memory H2 사용
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:member-page-pool;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+class MemberPageServicePoolTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 20;
+
+    @Autowired
+    MemberPageService memberPageService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final PageRequest pageRequest = PageRequest.of(1, 2, Sort.by("id"));
+
+    @Test
+    @DisplayName("ASYNC - 커넥션 2개로 동시에 호출해도 모두 정확한 값")
+    void asyncWithSmallPool() throws Exception {
+        saveMembers(905, 5);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < CALLS_PER_THREAD; j++) {
+                        TotalCountPage<Member> page = memberPageService.findPageByAge(905, pageRequest, TotalCountMode.ASYNC);
+                        assertThat(page.getContent()).hasSize(2);
+                        assertThat(page.getTotalElements()).isEqualTo(5);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("ASYNC - 트랜잭션 안에서 호출하면 같은 커넥션에서 EXACT 로 실행")
+    void asyncInsideTransaction() {
+        saveMembers(906, 5);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        TotalCountPage<Member> page = readOnly.execute(status ->
+                memberPageService.findPageByAge(906, pageRequest, TotalCountMode.ASYNC));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    private void saveMembers(int age, int count) {
+        for (int i = 0; i < count; i++) {
+            memberRepository.save(new Member("pool" + age + "-" + i, age));
+        }
+    }
+}
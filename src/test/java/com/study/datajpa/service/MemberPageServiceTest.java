@@ -0,0 +1,90 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.repository.paging.TotalCountMode;
+import com.study.datajpa.repository.paging.TotalCountPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ASYNC 모드는 count 를 다른 커넥션에서 실행하므로 @Transactional 없이 커밋된 데이터로 검증
+ * (다른 테스트의 데이터와 겹치지 않도록 나이를 900대로 사용)
+ */
+@SpringBootTest
+class MemberPageServiceTest {
+
+    @Autowired
+    MemberPageService memberPageService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    private final PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("id"));
+
+    @Test
+    @DisplayName("EXACT - 매번 count 쿼리로 정확한 전체 개수")
+    void exact() {
+        saveMembers(901, 3);
+
+        TotalCountPage<Member> page = memberPageService.findPageByAge(901, pageRequest, TotalCountMode.EXACT);
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    @Test
+    @DisplayName("CACHED - TTL 동안은 캐시된 count 사용 (추가된 회원은 반영 안되고 totalExact=false)")
+    void cached() {
+        saveMembers(902, 3);
+        TotalCountPage<Member> first = memberPageService.findPageByAge(902, pageRequest, TotalCountMode.CACHED);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.isTotalExact()).isTrue();
+
+        saveMembers(902, 1);
+        TotalCountPage<Member> second = memberPageService.findPageByAge(902, pageRequest, TotalCountMode.CACHED);
+
+        assertThat(second.getTotalElements()).isEqualTo(3);
+        assertThat(second.isTotalExact()).isFalse();
+        assertThat(memberPageService.findPageByAge(902, pageRequest, TotalCountMode.EXACT).getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("ASYNC - count 를 동시에 실행해도 결과는 정확한 값")
+    void async() {
+        saveMembers(903, 5);
+
+        TotalCountPage<Member> page = memberPageService.findPageByAge(903, pageRequest.withPage(1), TotalCountMode.ASYNC);
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ESTIMATED - 캐시된 값이 없으면 한번은 정확히 계산, 이후에는 근사값")
+    void estimated() {
+        saveMembers(904, 3);
+        TotalCountPage<Member> first = memberPageService.findPageByAge(904, pageRequest, TotalCountMode.ESTIMATED);
+        assertThat(first.isTotalExact()).isTrue();
+
+        TotalCountPage<Member> second = memberPageService.findPageByAge(904, pageRequest, TotalCountMode.ESTIMATED);
+
+        assertThat(second.getTotalElements()).isEqualTo(3);
+        assertThat(second.isTotalExact()).isFalse();
+    }
+
+    private void saveMembers(int age, int count) {
+        for (int i = 0; i < count; i++) {
+            memberRepository.save(new Member("page" + age + "-" + i, age));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.study.datajpa.service;
+
+import com.study.datajpa.entity.Member;
+import com.study.datajpa.repository.MemberRepository;
+import com.study.datajpa.transaction.UpdateLockMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 커밋된 같은 회원을 수정하므로 @Transactional 없이 실행
+ */
+@SpringBootTest
+class MemberUpdateServiceTest {
+
+    private static final int THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 10;
+
+    @Autowired
+    MemberUpdateService memberUpdateService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("수정할 때마다 @Version 증가")
+    void version() {
+        Member member = memberRepository.save(new Member("lock-version", 10));
+        assertThat(member.getVersion()).isEqualTo(0L);
+
+        memberUpdateService.increaseAge("lock-version", UpdateLockMode.OPTIMISTIC);
+
+        Member updated = memberRepository.findById(member.getId()).get();
+        assertThat(updated.getAge()).isEqualTo(11);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("PESSIMISTIC - 동시 수정이 순서대로 실행되어 모두 반영")
+    void pessimistic() throws Exception {
+        Member member = memberRepository.save(new Member("lock-pessimistic", 0));
+
+        int succeeded = concurrentIncrease("lock-pessimistic", UpdateLockMode.PESSIMISTIC);
+
+        assertThat(succeeded).isEqualTo(THREADS * UPDATES_PER_THREAD);
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(THREADS * UPDATES_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC - 충돌하면 재시도, 재시도 횟수를 넘긴 수정 외에는 유실 없음")
+    void optimistic() throws Exception {
+        Member member = memberRepository.save(new Member("lock-optimistic", 0));
+
+        int succeeded = concurrentIncrease("lock-optimistic", UpdateLockMode.OPTIMISTIC);
+
+        assertThat(succeeded).isPositive();
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(succeeded);
+    }
+
+    private int concurrentIncrease(String username, UpdateLockMode lockMode) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+                        try {
+                            memberUpdateService.increaseAge(username, lockMode);
+                            succeeded.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            // 재시도 횟수 초과 -> 이 수정은 반영되지 않음
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return succeeded.get();
+    }
+}
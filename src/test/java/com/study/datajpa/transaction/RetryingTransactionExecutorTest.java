@@ -0,0 +1,91 @@
+package com.study.datajpa.transaction;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RetryingTransactionExecutorTest {
+
+    @Autowired
+    RetryingTransactionExecutor executor;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("낙관적 락 충돌이면 새 트랜잭션으로 재시도")
+    void retry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(status -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Member", 1L);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("최대 횟수(max-attempts=5)까지 충돌하면 마지막 예외를 던짐")
+    void maxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(status -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Member", 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("다른 예외는 재시도하지 않음")
+    void otherException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(status -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException();
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("이미 트랜잭션 안이면 사용 불가")
+    void insideTransaction() {
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager)
+                .execute(status -> executor.execute(inner -> "ok")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("batch 오류 로그는 재시도 중의 낙관적 락 충돌만 끔")
+    void batchErrorLog() {
+        RetriedOptimisticLockLogFilter filter = new RetriedOptimisticLockLogFilter();
+        Logger batchLogger = (Logger) LoggerFactory.getLogger("org.hibernate.engine.jdbc.batch.internal.BatchingBatch");
+        String stale = "HHH000315: Exception executing batch [org.hibernate.StaleStateException: Batch update returned unexpected row count], SQL: update member";
+        String other = "HHH000315: Exception executing batch [java.sql.BatchUpdateException: Value too long for column], SQL: insert into member";
+
+        assertThat(filter.decide(null, batchLogger, Level.ERROR, stale, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(RetriedOptimisticLockLogFilter.retrying(() -> filter.decide(null, batchLogger, Level.ERROR, stale, null, null)))
+                .isEqualTo(FilterReply.DENY);
+        assertThat(RetriedOptimisticLockLogFilter.retrying(() -> filter.decide(null, batchLogger, Level.ERROR, other, null, null)))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+}
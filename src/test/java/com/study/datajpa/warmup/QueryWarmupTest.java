@@ -0,0 +1,48 @@
+package com.study.datajpa.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryWarmupTest {
+
+    @Autowired
+    QueryWarmup queryWarmup;
+
+    @Test
+    @DisplayName("시작할 때 커넥션 풀을 채우고 조회 쿼리 메소드를 모두 실행, 변경 / 락 / 비동기 / 제한 없는 전체 조회는 건너뜀")
+    void warmupOnStartup() {
+        List<WarmupResult> results = queryWarmup.getResults();
+        Map<String, WarmupResult> queries = results.stream()
+                .filter(result -> result.getKind().equals("query"))
+                .collect(Collectors.toMap(WarmupResult::getName, Function.identity()));
+
+        assertThat(results).filteredOn(result -> result.getKind().equals("connection"))
+                .singleElement().extracting(WarmupResult::getStatus).isEqualTo(WarmupResult.Status.OK);
+        assertThat(results).noneMatch(result -> result.getStatus() == WarmupResult.Status.FAILED);
+        assertThat(queries.get("MemberRepository.findListByUsername").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.findPageByAge").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.findByNames").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.findProjectionsByUsername").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.bulkAgePlus").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+        assertThat(queries.get("MemberRepository.findLockByUsername").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+        assertThat(queries.get("MemberRepository.findAsyncByUsername").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+
+        // 파라미터 없는 컬렉션 조회는 Top / First 로 제한할 때만 실행 (테이블 전체를 읽지 않도록)
+        assertThat(queries.get("MemberRepository.findTop3HelloBy").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.findListBy").getStatus()).isEqualTo(WarmupResult.Status.OK);
+        assertThat(queries.get("MemberRepository.findHelloBy").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+        assertThat(queries.get("MemberRepository.findUsernameList").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+        assertThat(queries.get("MemberRepository.findMemberDto").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+        assertThat(queries.get("MemberRepository.findMemberEntityGraph").getStatus()).isEqualTo(WarmupResult.Status.SKIPPED);
+    }
+}